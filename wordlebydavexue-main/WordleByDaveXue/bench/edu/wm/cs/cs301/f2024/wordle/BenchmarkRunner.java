@@ -0,0 +1,35 @@
+package edu.wm.cs.cs301.f2024.wordle;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The BenchmarkRunner class runs every JMH benchmark in the bench source folder with the
+ * GC profiler attached, so each result reports its allocation rate next to its score.
+ *
+ * The bench folder is compiled against the src folder plus jmh-core and
+ * jmh-generator-annprocess. Pass a regular expression to run a subset of the benchmarks.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks headless with the GC profiler.
+     *
+     * @param args An optional regular expression selecting the benchmarks to run.
+     * @throws RunnerException If JMH fails to run a benchmark.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "edu.wm.cs.cs301.f2024.wordle";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true")
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,76 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading the word list from the real usa.txt resource, both from the packed
+ * dictionary and from the text parse it falls back to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadWordsRunnableBenchmark {
+
+    /** Whether the packed dictionary is present ("packed") or removed before each call ("text"). */
+    @Param({ "packed", "text" })
+    public String source;
+
+    /** The runnable under test. */
+    private ReadWordsRunnable runnable;
+
+    /**
+     * Points the user's home directory at a scratch folder and creates the runnable.
+     *
+     * @throws IOException If the scratch folder cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path home = Files.createTempDirectory("wordle-bench");
+        System.setProperty("user.home", home.toString());
+        runnable = new ReadWordsRunnable(new WordleModel());
+        runnable.createWordList();
+    }
+
+    /**
+     * Removes the packed dictionary when the text parse is being measured.
+     *
+     * @throws IOException If the packed dictionary cannot be removed.
+     */
+    @Setup(Level.Invocation)
+    public void removePackedDictionary() throws IOException {
+        if (source.equals("text")) {
+            Files.deleteIfExists(PackedDictionary.getDefaultPath());
+        }
+    }
+
+    /**
+     * Creates the word list.
+     *
+     * @return The word list, so the call is not eliminated.
+     * @throws IOException If the resource cannot be read.
+     */
+    @Benchmark
+    public List<String> createWordList() throws IOException {
+        return runnable.createWordList();
+    }
+}
@@ -0,0 +1,76 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and writing the statistics file for histories of 10 to 1,000,000 games.
+ * The user's home directory is pointed at a scratch folder so real statistics are untouched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    /** The number of games in the history. */
+    @Param({ "10", "1000", "100000", "1000000" })
+    public int games;
+
+    /** The statistics written by the write benchmark. */
+    private Statistics statistics;
+
+    /**
+     * Creates a history of the requested length and writes it to the scratch folder.
+     *
+     * @throws IOException If the scratch folder cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("user.home", Files.createTempDirectory("wordle-bench").toString());
+
+        SplittableRandom random = new SplittableRandom(games);
+        statistics = new Statistics();
+        for (int game = 0; game < games; game++) {
+            statistics.incrementTotalGamesPlayed();
+            statistics.addWordsGuessed(random.nextInt(6));
+        }
+        statistics.setCurrentStreak(games);
+        statistics.writeStatistics();
+    }
+
+    /**
+     * Reads the statistics file, which the Statistics constructor does.
+     *
+     * @return The statistics read, so the call is not eliminated.
+     */
+    @Benchmark
+    public Statistics readStatistics() {
+        return new Statistics();
+    }
+
+    /**
+     * Rewrites the statistics file.
+     */
+    @Benchmark
+    public void writeStatistics() {
+        statistics.writeStatistics();
+    }
+}
@@ -0,0 +1,134 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures scoring a row, both through WordleModel.setCurrentRow() and through the
+ * FeedbackScorer it delegates to, for a single guess and for a batch of guesses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordleModelBenchmark {
+
+    /** The number of guesses scored by the batched benchmarks. */
+    private static final int BATCH = 1024;
+
+    /** The model under test. */
+    private WordleModel model;
+
+    /** The scorer under test. */
+    private FeedbackScorer scorer;
+
+    /** The five-letter words of usa.txt, as uppercase letters. */
+    private char[][] words;
+
+    /** The answer every guess is scored against. */
+    private char[] answer;
+
+    /**
+     * Loads the five-letter words of usa.txt and creates the model and scorer.
+     *
+     * @throws IOException If the word list cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("user.home", Files.createTempDirectory("wordle-bench").toString());
+
+        List<String> wordList = new ArrayList<>();
+        for (String word : PackedDictionary.readText(WordleModel.class.getResourceAsStream("/resources/usa.txt"))) {
+            if (word.length() == 5) {
+                wordList.add(word);
+            }
+        }
+
+        this.words = new char[BATCH][];
+        for (int index = 0; index < BATCH; index++) {
+            words[index] = wordList.get(index * wordList.size() / BATCH).toUpperCase().toCharArray();
+        }
+        this.answer = words[BATCH / 2];
+
+        this.model = new WordleModel();
+        model.setWordList(wordList);
+        model.generateCurrentWord();
+        this.scorer = new FeedbackScorer();
+    }
+
+    /**
+     * Types one guess and submits it, starting a new game when the grid is full.
+     *
+     * @return Whether rows remain, so the call is not eliminated.
+     */
+    @Benchmark
+    public boolean setCurrentRow() {
+        if (model.getCurrentRowNumber() >= model.getMaximumRows() - 1) {
+            model.initialize();
+        }
+        for (char c : words[0]) {
+            model.setCurrentColumn(c);
+        }
+        return model.setCurrentRow();
+    }
+
+    /**
+     * Types and submits a batch of guesses.
+     *
+     * @param blackhole Consumes the result of each row.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void setCurrentRowBatch(Blackhole blackhole) {
+        for (char[] guess : words) {
+            if (model.getCurrentRowNumber() >= model.getMaximumRows() - 1) {
+                model.initialize();
+            }
+            for (char c : guess) {
+                model.setCurrentColumn(c);
+            }
+            blackhole.consume(model.setCurrentRow());
+        }
+    }
+
+    /**
+     * Scores one guess against the answer.
+     *
+     * @return The feedback code.
+     */
+    @Benchmark
+    public int score() {
+        return scorer.score(words[0], answer);
+    }
+
+    /**
+     * Scores a batch of guesses against the answer.
+     *
+     * @param blackhole Consumes each feedback code.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void scoreBatch(Blackhole blackhole) {
+        for (char[] guess : words) {
+            blackhole.consume(scorer.score(guess, answer));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.wm.cs.cs301.f2024.wordle.view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
+
+/**
+ * Measures painting the whole Wordle grid headless into a BufferedImage, with three
+ * submitted rows and one row being typed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class WordleGridPanelBenchmark {
+
+    /** The panel under test. */
+    private WordleGridPanel panel;
+
+    /** The image the panel paints into. */
+    private BufferedImage image;
+
+    /** The graphics of the image. */
+    private Graphics2D graphics;
+
+    /**
+     * Creates a model with a partly played game and a panel sized like the real window.
+     *
+     * @throws IOException If the scratch folder cannot be created.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("user.home", Files.createTempDirectory("wordle-bench").toString());
+
+        WordleModel model = new WordleModel();
+        model.setWordList(Arrays.asList("APPLE"));
+        model.setCurrentWord();
+        for (String guess : new String[] { "PLANE", "APRON", "AMPLE" }) {
+            for (char c : guess.toCharArray()) {
+                model.setCurrentColumn(c);
+            }
+            model.setCurrentRow();
+        }
+        model.setCurrentColumn('A');
+        model.setCurrentColumn('P');
+
+        panel = new WordleGridPanel(null, model, 500);
+        panel.setSize(panel.getPreferredSize());
+        image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    /**
+     * Releases the graphics of the image.
+     */
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    /**
+     * Paints the grid.
+     *
+     * @return The image painted into, so the call is not eliminated.
+     */
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.paintComponent(graphics);
+        return image;
+    }
+}
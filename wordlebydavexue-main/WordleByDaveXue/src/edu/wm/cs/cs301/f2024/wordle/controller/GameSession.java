@@ -0,0 +1,496 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.wm.cs.cs301.f2024.wordle.model.CandidateIndex;
+import edu.wm.cs.cs301.f2024.wordle.model.ConcurrentStatistics;
+import edu.wm.cs.cs301.f2024.wordle.model.GameSnapshot;
+import edu.wm.cs.cs301.f2024.wordle.model.ProfileStore;
+import edu.wm.cs.cs301.f2024.wordle.model.Statistics;
+import edu.wm.cs.cs301.f2024.wordle.model.TileState;
+import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
+
+/**
+ * The GameSession class is one player's game hosted by the WordleServer.
+ *
+ * A session owns its WordleModel and in-memory Statistics; the word list and its
+ * index are shared, read-only, between every session. A session started for a
+ * player loads the statistics from the player's profile and records every finished
+ * game in the profile as well. Every finished game is also added to the totals of
+ * the server, which are shared by all sessions. The model is not thread-safe,
+ * so every access goes through the session's lock, and the session state is only
+ * rendered while the lock is held.
+ *
+ * An idle session can be suspended to a file: the game as a GameSnapshot followed by
+ * the statistics counters. A suspended session rejects every later request with an
+ * EvictedException, so the server looks it up again and resumes it from the file.
+ */
+class GameSession {
+
+    /** The identifier of the session, initialized in the constructor. */
+    private final String id;
+
+    /** The game state of this session, initialized in the constructor. */
+    private final WordleModel model;
+
+    /** The profiles of the players, or null, initialized in the constructor. */
+    private final ProfileStore profiles;
+
+    /** The player ID of the session, or null for an anonymous session, initialized in the constructor. */
+    private final String player;
+
+    /** The statistics of every session of the server, initialized in the constructor. */
+    private final ConcurrentStatistics totals;
+
+    /** Confines the model to one request at a time, initialized in the constructor. */
+    private final ReentrantLock lock;
+
+    /** Whether the game is being played, won or lost, initialized in the constructor. */
+    private Status status;
+
+    /** The time of the last request in System.nanoTime units, initialized in the constructor. */
+    private volatile long lastAccess;
+
+    /** Whether the session has been suspended to a file, initialized by the suspend method. */
+    private boolean evicted;
+
+    /**
+     * Constructs a GameSession and starts its first game.
+     *
+     * @param id The identifier of the session.
+     * @param wordList The shared, unmodifiable word list.
+     * @param index The shared index over the word list.
+     * @param profiles The profiles of the players, or null if the player is null.
+     * @param player The player ID, or null for an anonymous session.
+     * @param totals The statistics of every session of the server.
+     */
+    GameSession(String id, List<String> wordList, CandidateIndex index, ProfileStore profiles, String player,
+            ConcurrentStatistics totals) {
+        this(id, new WordleModel(wordList, index, player == null ? Statistics.inMemory() : profiles.load(player)),
+                profiles, player, totals);
+    }
+
+    /**
+     * Constructs a GameSession around a model.
+     *
+     * @param id The identifier of the session.
+     * @param model The game state of the session.
+     * @param profiles The profiles of the players, or null if the player is null.
+     * @param player The player ID, or null for an anonymous session.
+     * @param totals The statistics of every session of the server.
+     */
+    private GameSession(String id, WordleModel model, ProfileStore profiles, String player,
+            ConcurrentStatistics totals) {
+        this.id = id;
+        this.model = model;
+        this.profiles = profiles;
+        this.player = player;
+        this.totals = totals;
+        this.lock = new ReentrantLock();
+        this.status = Status.PLAYING;
+        this.lastAccess = System.nanoTime();
+    }
+
+    /**
+     * Resumes a session suspended by the suspend method.
+     *
+     * @param id The identifier of the session.
+     * @param suspended The contents of the file the session was suspended to.
+     * @param wordList The shared, unmodifiable word list.
+     * @param index The shared index over the word list.
+     * @param profiles The profiles of the players, or null if there are none.
+     * @param totals The statistics of every session of the server.
+     * @return The resumed session, or null if the file belongs to another word list or is damaged.
+     */
+    static GameSession resume(String id, byte[] suspended, List<String> wordList, CandidateIndex index,
+            ProfileStore profiles, ConcurrentStatistics totals) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(suspended))) {
+            byte[] snapshot = new byte[in.readUnsignedByte()];
+            in.readFully(snapshot);
+            int currentStreak = in.readInt();
+            int longestStreak = in.readInt();
+            int totalGamesPlayed = in.readInt();
+            int lastWordsGuessed = in.readByte();
+            int[] wordsGuessedCounts = new int[in.readUnsignedByte()];
+            for (int row = 0; row < wordsGuessedCounts.length; row++) {
+                wordsGuessedCounts[row] = in.readInt();
+            }
+            String player = in.available() > 0 ? in.readUTF() : "";
+            if (!player.isEmpty() && profiles == null) {
+                return null;
+            }
+
+            Statistics statistics = Statistics.inMemory(currentStreak, longestStreak, totalGamesPlayed,
+                    wordsGuessedCounts, lastWordsGuessed);
+            WordleModel model = new WordleModel(wordList, index, statistics);
+            if (!GameSnapshot.restore(snapshot, model)) {
+                return null;
+            }
+
+            GameSession session = new GameSession(id, model, profiles, player.isEmpty() ? null : player, totals);
+            if (model.isSolved()) {
+                session.status = Status.WON;
+            } else if (model.isGameOver()) {
+                session.status = Status.LOST;
+            }
+            return session;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Suspends the session to a file if it has been idle long enough. The file is
+     * written while the lock is held, so no request can change the game meanwhile.
+     *
+     * @param file The file to suspend the session to.
+     * @param idleNanos How long the session must have been idle, in nanoseconds.
+     * @return True if the session was suspended; false if it was used too recently.
+     * @throws UncheckedIOException If the file cannot be written.
+     */
+    boolean suspend(Path file, long idleNanos) {
+        lock.lock();
+        try {
+            if (evicted || System.nanoTime() - lastAccess < idleNanos) {
+                return false;
+            }
+
+            byte[] snapshot = GameSnapshot.save(model);
+            Statistics statistics = model.getStatistics();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(snapshot.length + 15 + 4 * model.getMaximumRows());
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(snapshot.length);
+            out.write(snapshot);
+            out.writeInt(statistics.getCurrentStreak());
+            out.writeInt(statistics.getLongestStreak());
+            out.writeInt(statistics.getTotalGamesPlayed());
+            out.writeByte(statistics.getLastWordsGuessed());
+            out.writeByte(model.getMaximumRows());
+            for (int index = 0; index < model.getMaximumRows(); index++) {
+                out.writeInt(statistics.getWordsGuessedCount(index));
+            }
+            out.writeUTF(player == null ? "" : player);
+            GameSnapshot.write(file, bytes.toByteArray());
+            evicted = true;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new game, keeping the session's statistics. A game that is still
+     * being played counts as lost.
+     *
+     * @return The state of the session as JSON.
+     */
+    String newGame() {
+        lock.lock();
+        try {
+            requireActive();
+            if (status == Status.PLAYING && model.getCurrentRowNumber() >= 0) {
+                recordGame(model.getCurrentRowNumber() + 1, false);
+            }
+            model.initialize();
+            status = Status.PLAYING;
+            return toJson();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Types a letter into the next column of the current row.
+     *
+     * @param c The letter, from A to Z in either case.
+     * @return The state of the session as JSON.
+     * @throws IllegalStateException If the game is over.
+     */
+    String type(char c) {
+        lock.lock();
+        try {
+            requireActive();
+            requirePlaying();
+            model.setCurrentColumn(Character.toUpperCase(c));
+            return toJson();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Removes the last letter of the current row.
+     *
+     * @return The state of the session as JSON.
+     * @throws IllegalStateException If the game is over.
+     */
+    String backspace() {
+        lock.lock();
+        try {
+            requireActive();
+            requirePlaying();
+            model.backspace();
+            return toJson();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Submits the current row, updating the statistics if the game is over.
+     *
+     * @return The state of the session as JSON.
+     * @throws IllegalStateException If the game is over or the row is not full.
+     */
+    String submit() {
+        lock.lock();
+        try {
+            requireActive();
+            requirePlaying();
+            if (model.getCurrentColumn() < model.getColumnCount() - 1) {
+                throw new IllegalStateException("The row is not full");
+            }
+
+            boolean moreRows = model.setCurrentRow();
+            int row = model.getCurrentRowNumber();
+            int greenCount = 0;
+            for (int column = 0; column < model.getColumnCount(); column++) {
+                if (model.getTileState(row, column) == TileState.CORRECT) {
+                    greenCount++;
+                }
+            }
+
+            if (greenCount >= model.getColumnCount()) {
+                recordGame(row + 1, true);
+                status = Status.WON;
+            } else if (!moreRows) {
+                recordGame(row + 1, false);
+                status = Status.LOST;
+            }
+            return toJson();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Records the game that just finished in the session's statistics, in the totals
+     * of the server and, for a player's session, in the player's profile.
+     *
+     * @param guesses The number of rows submitted.
+     * @param won Whether the last row was the answer.
+     */
+    private void recordGame(int guesses, boolean won) {
+        model.getStatistics().recordGame(model.getCurrentWordIndex(), guesses, won, model.getElapsedMillis());
+        totals.recordGame(guesses, won, model.getStatistics().getCurrentStreak());
+        if (player != null) {
+            profiles.recordGame(player, model.getCurrentWordIndex(), guesses, won);
+        }
+    }
+
+    /**
+     * Gets the state of the session.
+     *
+     * @return The state of the session as JSON.
+     */
+    String getState() {
+        lock.lock();
+        try {
+            requireActive();
+            return toJson();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the statistics of the session.
+     *
+     * @return The statistics as JSON.
+     */
+    String getStatistics() {
+        lock.lock();
+        try {
+            requireActive();
+            Statistics statistics = model.getStatistics();
+            StringBuilder builder = new StringBuilder(128);
+            builder.append("{\"gamesPlayed\":").append(statistics.getTotalGamesPlayed());
+            builder.append(",\"gamesWon\":").append(statistics.getGamesWon());
+            builder.append(",\"currentStreak\":").append(statistics.getCurrentStreak());
+            builder.append(",\"longestStreak\":").append(statistics.getLongestStreak());
+            builder.append(",\"distribution\":[");
+            for (int index = 0; index < model.getMaximumRows(); index++) {
+                builder.append(index == 0 ? "" : ",").append(statistics.getWordsGuessedCount(index));
+            }
+            return builder.append("]}").toString();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the identifier of the session.
+     *
+     * @return The identifier of the session.
+     */
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the time of the last request to the session.
+     *
+     * @return The time of the last request in System.nanoTime units.
+     */
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Rejects requests once the session has been suspended.
+     *
+     * @throws EvictedException If the session has been suspended to a file.
+     */
+    private void requireActive() {
+        if (evicted) {
+            throw new EvictedException();
+        }
+    }
+
+    /**
+     * Rejects moves once the game is over.
+     *
+     * @throws IllegalStateException If the game has been won or lost.
+     */
+    private void requirePlaying() {
+        if (status != Status.PLAYING) {
+            throw new IllegalStateException("The game is " + status);
+        }
+    }
+
+    /**
+     * Notes the time of the request and releases the lock.
+     */
+    private void unlock() {
+        lastAccess = System.nanoTime();
+        lock.unlock();
+    }
+
+    /**
+     * Renders the state of the session as JSON. Each row is a string of letters
+     * and a string of states, where C is correct, P is present, A is absent and
+     * a dot is a letter that has not been submitted or an empty cell. Must be called 
+     * with the lock held.
+     *
+     * @return The state of the session as JSON.
+     */
+    private String toJson() {
+        int columnCount = model.getColumnCount();
+        StringBuilder builder = new StringBuilder(256);
+        builder.append("{\"id\":\"").append(id);
+        builder.append("\",\"status\":\"").append(status);
+        builder.append("\",\"row\":").append(model.getCurrentRowNumber() + 1);
+        builder.append(",\"column\":").append(model.getCurrentColumn() + 1);
+        builder.append(",\"remaining\":").append(model.getRemainingWordCount());
+        builder.append(",\"rows\":[");
+        for (int row = 0; row < model.getMaximumRows(); row++) {
+            if (model.getLetter(row, 0) == '\0') {
+                break;
+            }
+            builder.append(row == 0 ? "{" : ",{").append("\"letters\":\"");
+            for (int column = 0; column < columnCount; column++) {
+                char c = model.getLetter(row, column);
+                builder.append(Character.isLetter(c) ? c : ' ');
+            }
+            builder.append("\",\"states\":\"");
+            for (int column = 0; column < columnCount; column++) {
+                boolean empty = model.getLetter(row, column) == '\0';
+                builder.append(empty ? '.' : getStateCode(model.getTileState(row, column)));
+            }
+            builder.append("\"}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Gets the one-letter JSON code of a tile state.
+     *
+     * @param state The state of the tile.
+     * @return C for correct, P for present, A for absent and a dot otherwise.
+     */
+    private static char getStateCode(TileState state) {
+        switch (state) {
+            case CORRECT:
+                return 'C';
+            case PRESENT:
+                return 'P';
+            case ABSENT:
+                return 'A';
+            default:
+                return '.';
+        }
+    }
+
+    /**
+     * The Status enum is whether the game of a session is being played, won or lost.
+     */
+    enum Status {
+        /** The game is still being played. */
+        PLAYING("playing"),
+
+        /** The last submitted row was all correct. */
+        WON("won"),
+
+        /** Every row was used without solving the word. */
+        LOST("lost");
+
+        /** The name of the status in JSON, initialized in the constructor. */
+        private final String text;
+
+        /**
+         * Constructs a Status.
+         *
+         * @param text The name of the status in JSON.
+         */
+        Status(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Gets the name of the status in JSON.
+         *
+         * @return The name of the status in lower case.
+         */
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * The EvictedException class signals that a session was suspended to a file
+     * while a request was waiting for it.
+     */
+    static class EvictedException extends RuntimeException {
+
+        /** Serialization ID. */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs an EvictedException without a stack trace, as it is part of normal operation.
+         */
+        EvictedException() {
+            super("The session was suspended", null, false, false);
+        }
+    }
+}
@@ -5,7 +5,9 @@ import java.awt.event.ActionEvent;
 import javax.swing.AbstractAction;
 import javax.swing.JButton;
 
-import edu.wm.cs.cs301.f2024.wordle.model.AppColors;
+import edu.wm.cs.cs301.f2024.wordle.model.FlightEvents;
+import edu.wm.cs.cs301.f2024.wordle.model.Metrics;
+import edu.wm.cs.cs301.f2024.wordle.model.TileState;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleResponse;
 import edu.wm.cs.cs301.f2024.wordle.view.StatisticsDialog;
@@ -37,11 +39,13 @@ public class KeyboardButtonAction extends AbstractAction {
 
     /**
      * Handles button click events for keyboard buttons in the Wordle game.
+     * Any hint still being computed is cancelled, since the player has moved on.
      * 
      * If the button text is "Enter":
      * 
-     * Checks if the current column is the last column to make sure that a full word is submitted.
-     * Sets the current row for the next guess and retrieves the responses for the current row.
+     * Checks if the current column is the last column to make sure that a full word is submitted,
+     * and ignores the key while the word list is still loading.
+     * Sets the current row for the next guess, updates the remaining word count and retrieves the responses for the current row.
      * Processes each letter in the current row and updating the letter's background color based on correctness.
      * In the case that all letters in the current row are correct, it updates the game statistics, increments the total games played,
      * updates the current streak, and displays a statistics dialog.
@@ -59,6 +63,8 @@ public class KeyboardButtonAction extends AbstractAction {
      * Treats the button text as a character and sets it in the current column of the Wordle model.
      * The display is then refreshed.
      * 
+     * The time the key takes on the event dispatch thread is recorded by a KeyAction flight event,
+     * and the key is marked in the Metrics so the next repaint of the grid measures its latency.
      *
      * @param event the ActionEvent object contains information about the event, including the source button.
      */
@@ -66,34 +72,49 @@ public class KeyboardButtonAction extends AbstractAction {
     public void actionPerformed(ActionEvent event) {
         JButton button = (JButton) event.getSource();
         String text = button.getActionCommand();
+        Metrics.getDefault().recordKeystroke();
+        FlightEvents.KeyAction keyAction = new FlightEvents.KeyAction();
+        keyAction.begin();
+        try {
+            dispatch(text);
+        } finally {
+            keyAction.key = text;
+            keyAction.commit();
+        }
+    }
+
+    /**
+     * Handles a key as described by actionPerformed.
+     *
+     * @param text the action command of the key
+     */
+    private void dispatch(String text) {
+        view.cancelHint();
         switch (text) {
             case "Enter":
-                if (model.getCurrentColumn() >= (model.getColumnCount() - 1)) {
+                if (model.isWordListLoaded() && model.getCurrentColumn() >= (model.getColumnCount() - 1)) {
                     boolean moreRows = model.setCurrentRow();
+                    view.updateRemainingCount();
                     WordleResponse[] currentRow = model.getCurrentRow();
+                    view.setColors(currentRow);
                     int greenCount = 0;
 
                     for (WordleResponse wordleResponse : currentRow) {
-                        view.setColor(Character.toString(wordleResponse.getChar()),
-                                wordleResponse.getBackgroundColor(), 
-                                wordleResponse.getForegroundColor());
-                        if (wordleResponse.getBackgroundColor().equals(AppColors.GREEN)) {
+                        if (wordleResponse.getState() == TileState.CORRECT) {
                             greenCount++;
                         } 
                     }
 
                     if (greenCount >= model.getColumnCount()) {
                         view.repaintWordleGridPanel();
-                        model.getStatistics().incrementTotalGamesPlayed();
                         int currentRowNumber = model.getCurrentRowNumber();
-                        model.getStatistics().addWordsGuessed(currentRowNumber);
-                        int currentStreak = model.getStatistics().getCurrentStreak();
-                        model.getStatistics().setCurrentStreak(++currentStreak);
+                        model.getStatistics().recordGame(model.getCurrentWordIndex(), currentRowNumber + 1, true,
+                                model.getElapsedMillis());
                         new StatisticsDialog(view, model);
                     } else if (!moreRows) {
                         view.repaintWordleGridPanel();
-                        model.getStatistics().incrementTotalGamesPlayed();
-                        model.getStatistics().setCurrentStreak(0);
+                        model.getStatistics().recordGame(model.getCurrentWordIndex(), model.getMaximumRows(), false,
+                                model.getElapsedMillis());
                         new StatisticsDialog(view, model);
                     } else {
                         view.repaintWordleGridPanel();
@@ -0,0 +1,75 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import edu.wm.cs.cs301.f2024.wordle.model.HistoryFormat;
+import edu.wm.cs.cs301.f2024.wordle.model.Statistics;
+
+/**
+ * The StatisticsTransfer class is the command-line entry point for moving the game
+ * history between machines: it exports the history of the statistics in the Wordle
+ * folder of the home directory to a file, and imports a file into it.
+ */
+public class StatisticsTransfer {
+
+    /**
+     * Exports or imports the history and prints the number of games and the throughput.
+     *
+     * Usage: StatisticsTransfer export|import file [csv|jsonl]
+     *
+     * The format defaults to JSON Lines for a .jsonl or .ndjson file and to CSV otherwise.
+     * An import merges the games into the statistics as if they were played after the
+     * games already recorded.
+     *
+     * @param args Command-line arguments.
+     * @throws IOException If the file or the statistics cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("export") || args[0].equals("import"))) {
+            System.err.println("Usage: StatisticsTransfer export|import file [csv|jsonl]");
+            System.exit(1);
+            return;
+        }
+
+        Path file = Paths.get(args[1]);
+        HistoryFormat format;
+        if (args.length < 3) {
+            format = HistoryFormat.forFile(file);
+        } else if (args[2].equals("csv")) {
+            format = HistoryFormat.CSV;
+        } else if (args[2].equals("jsonl")) {
+            format = HistoryFormat.JSON_LINES;
+        } else {
+            System.err.println("Unknown format " + args[2] + "; expected csv or jsonl");
+            System.exit(1);
+            return;
+        }
+
+        Statistics statistics = new Statistics();
+        long start = System.nanoTime();
+        long games;
+        if (args[0].equals("export")) {
+            try (Writer out = Files.newBufferedWriter(file)) {
+                games = statistics.exportHistory(out, format);
+            }
+        } else {
+            try (Reader in = Files.newBufferedReader(file)) {
+                games = statistics.importHistory(in, format);
+            } catch (IllegalArgumentException e) {
+                System.err.println(file + ": " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+
+        System.out.printf("%s %,d games %s %s in %.2f seconds, %,.0f games per second%n",
+                args[0].equals("export") ? "Exported" : "Imported", games,
+                args[0].equals("export") ? "to" : "from", file, seconds, games / seconds);
+    }
+}
@@ -2,6 +2,8 @@ package edu.wm.cs.cs301.f2024.wordle.controller;
 
 import javax.swing.SwingUtilities;
 
+import edu.wm.cs.cs301.f2024.wordle.model.EventLog;
+import edu.wm.cs.cs301.f2024.wordle.model.FlightEvents;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
 import edu.wm.cs.cs301.f2024.wordle.view.WordleFrame;
 
@@ -19,6 +21,8 @@ public class Wordle implements Runnable {
      * @param args Command-line arguments.
      */
     public static void main(String[] args) {
+        FlightEvents.startRecording();
+        EventLog.getDefault().record(EventLog.Event.APP_STARTED, 0, 0, 0);
         SwingUtilities.invokeLater(new Wordle());
     }
 
@@ -0,0 +1,219 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The WordleLoadGenerator class plays games against a running WordleServer at a fixed
+ * request rate and prints the latency percentiles.
+ *
+ * Each client plays its own session, typing random letters, submitting every full row
+ * and starting a new game when one ends. Requests are scheduled at fixed intervals and
+ * latency is measured from the time a request was scheduled, not from when it was sent,
+ * so a slow response also counts against the requests that had to wait for it. The
+ * requests of a warm-up period, while both JVMs compile their hot code, are not measured.
+ */
+public class WordleLoadGenerator {
+
+    /** The number of columns representing letters in a word. */
+    private static final int COLUMN_COUNT = 5;
+
+    /** How long the clients may fall behind schedule before they give up, in seconds. */
+    private static final int GRACE_SECONDS = 10;
+
+    /** The address of the game API, initialized in the constructor. */
+    private final URI games;
+
+    /** The HTTP client shared by every client, initialized in the constructor. */
+    private final HttpClient client;
+
+    /**
+     * Constructs a WordleLoadGenerator for a server.
+     *
+     * @param server The address of the server, such as http://localhost:8080.
+     */
+    public WordleLoadGenerator(URI server) {
+        this.games = server.resolve("/games");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * Usage: WordleLoadGenerator [server] [requests per second] [seconds] [clients] [warm-up seconds]
+     *
+     * Defaults to http://localhost:8080 at 10,000 requests per second for 30 seconds
+     * from 64 clients after a 10 second warm-up.
+     *
+     * @param args Command-line arguments.
+     * @throws InterruptedException If interrupted while the clients are running.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        URI server = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        int warmup = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        long[] latencies = new WordleLoadGenerator(server).run(rate, seconds, clients, warmup);
+        long errors = Arrays.stream(latencies).filter(latency -> latency < 0).count();
+        long[] sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+
+        System.out.printf("%,d requests in %d seconds from %d clients, %,d errors%n",
+                latencies.length, seconds, clients, errors);
+        if (sorted.length > 0) {
+            System.out.printf("p50 %.3f ms  p90 %.3f ms  p99 %.3f ms  p99.9 %.3f ms  max %.3f ms%n",
+                    getPercentile(sorted, 0.50), getPercentile(sorted, 0.90), getPercentile(sorted, 0.99),
+                    getPercentile(sorted, 0.999), sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * Plays games from a number of clients at a total request rate and waits for them to finish.
+     *
+     * @param rate The total number of requests per second.
+     * @param seconds How long to measure.
+     * @param clients The number of clients, each with its own session.
+     * @param warmup How long to run before measuring, in seconds.
+     * @return The latency of every measured request in nanoseconds, negative for failed requests.
+     * @throws InterruptedException If interrupted while waiting for the clients.
+     */
+    public long[] run(int rate, int seconds, int clients, int warmup) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) * clients / rate;
+        int warmups = (int) ((long) rate * warmup / clients);
+        int requests = (int) ((long) rate * seconds / clients);
+        long[][] latencies = new long[clients][];
+        ExecutorService executor = WordleServer.newRequestExecutor();
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        SplittableRandom root = new SplittableRandom(0);
+        for (int index = 0; index < clients; index++) {
+            int slot = index;
+            SplittableRandom random = root.split();
+            // stagger the clients so their requests are spread over each interval
+            long offset = start + interval * index / clients;
+            executor.execute(() -> latencies[slot] = play(warmups, requests, offset, interval, random));
+        }
+        executor.shutdown();
+        executor.awaitTermination(warmup + seconds + GRACE_SECONDS + 10L, TimeUnit.SECONDS);
+
+        return Arrays.stream(latencies).filter(client -> client != null).flatMapToLong(Arrays::stream).toArray();
+    }
+
+    /**
+     * Plays games in one session on the calling thread. A client that falls more than 
+     * GRACE_SECONDS behind schedule stops early and returns the requests it made.
+     *
+     * @param warmups The number of requests to make before measuring.
+     * @param requests The number of requests to measure.
+     * @param start The scheduled time of the first request in System.nanoTime units.
+     * @param interval The time between the scheduled requests in nanoseconds.
+     * @param random The random generator of this client.
+     * @return The latency of every measured request in nanoseconds, negative for failed requests.
+     */
+    private long[] play(int warmups, int requests, long start, long interval, SplittableRandom random) {
+        long[] latencies = new long[warmups + requests];
+        String session = null;
+        int column = 0;
+        boolean over = false;
+        long grace = TimeUnit.SECONDS.toNanos(GRACE_SECONDS);
+
+        for (int request = 0; request < latencies.length; request++) {
+            long scheduled = start + request * interval;
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            } else if (-delay > grace) {
+                return Arrays.copyOfRange(latencies, Math.min(warmups, request), request);
+            }
+
+            URI uri;
+            if (session == null) {
+                uri = games;
+            } else if (over) {
+                uri = games.resolve("/games/" + session + "/new");
+            } else if (column == COLUMN_COUNT) {
+                uri = games.resolve("/games/" + session + "/submit");
+            } else {
+                uri = games.resolve("/games/" + session + "/letter/" + (char) ('A' + random.nextInt(26)));
+            }
+
+            try {
+                HttpResponse<String> response = client.send(
+                        HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                latencies[request] = System.nanoTime() - scheduled;
+                if (response.statusCode() >= 300) {
+                    latencies[request] = -1;
+                    continue;
+                }
+
+                String body = response.body();
+                if (session == null) {
+                    session = getString(body, "id");
+                }
+                over = !getString(body, "status").equals(GameSession.Status.PLAYING.toString());
+                column = getNumber(body, "column");
+            } catch (IOException e) {
+                latencies[request] = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Arrays.copyOfRange(latencies, Math.min(warmups, request), request);
+            }
+        }
+
+        return Arrays.copyOfRange(latencies, warmups, latencies.length);
+    }
+
+    /**
+     * Reads a string field from a JSON object rendered by the server.
+     *
+     * @param json The JSON object.
+     * @param name The name of the field.
+     * @return The value of the field.
+     */
+    private static String getString(String json, String name) {
+        int start = json.indexOf("\"" + name + "\":\"") + name.length() + 4;
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    /**
+     * Reads a number field from a JSON object rendered by the server.
+     *
+     * @param json The JSON object.
+     * @param name The name of the field.
+     * @return The value of the field.
+     */
+    private static int getNumber(String json, String name) {
+        int start = json.indexOf("\"" + name + "\":") + name.length() + 3;
+        int end = start;
+        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        return Integer.parseInt(json.substring(start, end));
+    }
+
+    /**
+     * Gets a percentile of sorted latencies.
+     *
+     * @param sorted The latencies in nanoseconds, in ascending order.
+     * @param fraction The percentile as a fraction, from 0 to 1.
+     * @return The latency at the percentile in milliseconds.
+     */
+    private static double getPercentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
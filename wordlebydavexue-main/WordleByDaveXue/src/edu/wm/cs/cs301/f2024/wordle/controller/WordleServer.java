@@ -0,0 +1,617 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.wm.cs.cs301.f2024.wordle.model.CandidateIndex;
+import edu.wm.cs.cs301.f2024.wordle.model.ConcurrentStatistics;
+import edu.wm.cs.cs301.f2024.wordle.model.EventLog;
+import edu.wm.cs.cs301.f2024.wordle.model.FlightEvents;
+import edu.wm.cs.cs301.f2024.wordle.model.GameSnapshot;
+import edu.wm.cs.cs301.f2024.wordle.model.ProfileStore;
+import edu.wm.cs.cs301.f2024.wordle.model.ReadWordsRunnable;
+
+/**
+ * The WordleServer class hosts many independent Wordle games over HTTP, using only
+ * the JDK's built-in server. Every response is JSON.
+ *
+ * <pre>
+ * POST /games                     starts a session and its first game
+ * POST /games?player={player}     starts a session that keeps the player's statistics
+ * GET  /games/{id}                the state of the game
+ * POST /games/{id}/letter/{c}     types a letter
+ * POST /games/{id}/backspace      removes the last letter
+ * POST /games/{id}/submit         submits the current row
+ * POST /games/{id}/new            starts the next game of the session
+ * GET  /games/{id}/stats          the statistics of the session
+ * GET  /stats                     the statistics of every game the server has hosted
+ * </pre>
+ *
+ * Each request runs on its own virtual thread when the JVM has them, and on a
+ * cached thread pool otherwise. Sessions are held in a concurrent map; each one
+ * is confined by its own lock, and they all share one read-only word list and index.
+ *
+ * Sessions that have been idle for a while are suspended to one small file each and
+ * dropped from memory; the next request for a suspended session resumes it from its
+ * file. Every session is suspended when the server stops, so a restart keeps the games.
+ *
+ * The statistics of players who start their sessions with a player ID are kept in a
+ * ProfileStore, so they carry over from one session to the next.
+ */
+public class WordleServer {
+
+    /** The number of columns representing letters in a word. */
+    private static final int COLUMN_COUNT = 5;
+
+    /** The number of rows of a game. */
+    private static final int MAXIMUM_ROWS = 6;
+
+    /** The context path of the game API. */
+    private static final String CONTEXT = "/games";
+
+    /** The form of a session identifier, checked before it is used as a file name. */
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{1,16}");
+
+    /** The form of a player ID. */
+    private static final Pattern PLAYER = Pattern.compile("[A-Za-z0-9_.@-]{1," + ProfileStore.MAXIMUM_ID_LENGTH + "}");
+
+    /** The word list shared by every session, initialized in the constructor. */
+    private final List<String> wordList;
+
+    /** The index over the word list shared by every session, initialized in the constructor. */
+    private final CandidateIndex index;
+
+    /** The sessions by identifier, initialized in the constructor. */
+    private final ConcurrentHashMap<String, GameSession> sessions;
+
+    /** The maximum number of sessions held at once, initialized in the constructor. */
+    private final int maximumSessions;
+
+    /**
+     * The number of sessions in the map or about to be put in it, changed together with
+     * the map so the maximum holds, initialized in the constructor.
+     */
+    private final AtomicInteger sessionCount;
+
+    /** Generates session identifiers that cannot be guessed, initialized in the constructor. */
+    private final SecureRandom random;
+
+    /** The directory that suspended sessions are written to, initialized in the constructor. */
+    private final Path directory;
+
+    /** How long a session must be idle before it is suspended, in nanoseconds, initialized in the constructor. */
+    private final long idleNanos;
+
+    /** The profiles of the players, or null if sessions cannot have players, initialized in the constructor. */
+    private final ProfileStore profiles;
+
+    /** The statistics of every game hosted since the server started, initialized in the constructor. */
+    private final ConcurrentStatistics totals;
+
+    /** Suspends idle sessions periodically, initialized by the start method. */
+    private ScheduledExecutorService sweeper;
+
+    /** The HTTP server, initialized by the start method. */
+    private HttpServer server;
+
+    /** Runs the requests, initialized by the start method. */
+    private ExecutorService executor;
+
+    /**
+     * Constructs a WordleServer over a word list.
+     *
+     * @param wordList The word list, used both for answers and for guesses.
+     * @param maximumSessions The maximum number of sessions held in memory at once.
+     * @param directory The directory that suspended sessions are written to.
+     * @param idleSeconds How long a session must be idle before it is suspended.
+     * @param profiles The profiles of the players, or null if sessions cannot have players;
+     *        the server closes it when it stops.
+     */
+    public WordleServer(List<String> wordList, int maximumSessions, Path directory, long idleSeconds,
+            ProfileStore profiles) {
+        this.wordList = Collections.unmodifiableList(wordList);
+        this.index = new CandidateIndex(this.wordList);
+        this.sessions = new ConcurrentHashMap<>();
+        this.maximumSessions = maximumSessions;
+        this.sessionCount = new AtomicInteger();
+        this.random = new SecureRandom();
+        this.directory = directory;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        this.profiles = profiles;
+        this.totals = new ConcurrentStatistics(MAXIMUM_ROWS);
+    }
+
+    /**
+     * Starts the WordleServer.
+     *
+     * Usage: WordleServer [port] [maximum sessions] [idle seconds] [maximum profiles]
+     *
+     * Defaults to port 8080 and 100,000 sessions in memory, suspending sessions that 
+     * have been idle for 300 seconds to the sessions folder of the Wordle folder in 
+     * the user's home directory. The profiles are kept in the profiles folder next to 
+     * it, which a new store creates with room for 100,000 players.
+     *
+     * @param args Command-line arguments.
+     * @throws IOException If the word list cannot be read or the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int maximumSessions = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        long idleSeconds = args.length > 2 ? Long.parseLong(args[2]) : 300;
+        int maximumProfiles = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+        FlightEvents.startRecording();
+        Path directory = Paths.get(System.getProperty("user.home"), "Wordle", "sessions");
+        ProfileStore profiles = ProfileStore.open(directory.resolveSibling("profiles"), maximumProfiles);
+
+        WordleServer server = new WordleServer(ReadWordsRunnable.createWordList(COLUMN_COUNT), 
+                maximumSessions, directory, idleSeconds, profiles);
+        server.start(new InetSocketAddress(port));
+        EventLog.getDefault().record(EventLog.Event.SERVER_STARTED, server.getPort(), 0, 0);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            EventLog.getDefault().close();
+        }, "WordleServer-shutdown"));
+        System.out.printf("Serving %,d words on port %d%n", server.wordList.size(), server.getPort());
+    }
+
+    /**
+     * Binds the server to an address and starts accepting requests. The JDK server 
+     * writes the headers and the body of a response separately, so TCP_NODELAY is 
+     * turned on; otherwise every keep-alive request waits out a delayed ACK.
+     *
+     * @param address The address to bind to; port 0 picks a free port.
+     * @throws IOException If the address cannot be bound.
+     */
+    public void start(InetSocketAddress address) throws IOException {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, 1024);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext(CONTEXT, new GameHandler());
+        server.createContext("/stats", new StatisticsHandler());
+        server.start();
+
+        long period = Math.max(TimeUnit.SECONDS.toNanos(1), idleNanos / 4);
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WordleServer-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> suspendIdleSessions(idleNanos), period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops accepting requests, stops the request threads, suspends every session and
+     * closes the profiles.
+     */
+    public void stop() {
+        sweeper.shutdownNow();
+        server.stop(0);
+        executor.shutdown();
+        suspendIdleSessions(Long.MIN_VALUE);
+        if (profiles != null) {
+            try {
+                profiles.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Suspends every session that has been idle long enough to its file and drops it
+     * from memory. A session that cannot be written stays in memory.
+     *
+     * @param idleNanos How long a session must have been idle, in nanoseconds.
+     */
+    private void suspendIdleSessions(long idleNanos) {
+        for (GameSession session : sessions.values()) {
+            try {
+                if (session.suspend(getSessionPath(session.getId()), idleNanos)) {
+                    removeSession(session);
+                }
+            } catch (UncheckedIOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Finds a session in memory, or resumes it from its file if it was suspended.
+     *
+     * @param id The identifier of the session.
+     * @return The session, or null if there is no such session.
+     * @throws IOException If the file of the session exists but cannot be read.
+     */
+    private GameSession findSession(String id) throws IOException {
+        GameSession session = sessions.get(id);
+        if (session != null || !ID.matcher(id).matches()) {
+            return session;
+        }
+
+        Path file = getSessionPath(id);
+        byte[] suspended = GameSnapshot.read(file);
+        if (suspended == null) {
+            // another request may have resumed the session and removed its file
+            return sessions.get(id);
+        }
+        session = GameSession.resume(id, suspended, wordList, index, profiles, totals);
+        if (session == null) {
+            return null;
+        }
+
+        // a resumed session is not refused, but it counts towards the maximum
+        sessionCount.incrementAndGet();
+        GameSession existing = sessions.putIfAbsent(id, session);
+        if (existing != null) {
+            sessionCount.decrementAndGet();
+            return existing;
+        }
+        Files.deleteIfExists(file);
+        return session;
+    }
+
+    /**
+     * Drops a session from memory, unless it has already been dropped or replaced.
+     *
+     * @param session The session.
+     */
+    private void removeSession(GameSession session) {
+        if (sessions.remove(session.getId(), session)) {
+            sessionCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the file a session is suspended to.
+     *
+     * @param id The identifier of the session.
+     * @return The path of the session's file.
+     */
+    private Path getSessionPath(String id) {
+        return directory.resolve(id + ".session");
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return The port of the server.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of sessions being held.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Creates the executor that runs requests: one virtual thread per request if the
+     * JVM has virtual threads, otherwise a cached pool of daemon platform threads.
+     *
+     * @return The request executor.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "WordleServer-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Creates a session, unless the server already holds the maximum number of sessions.
+     *
+     * @param player The player ID, or null for an anonymous session.
+     * @return The new session, or null if the server is full.
+     */
+    private GameSession createSession(String player) {
+        int count;
+        do {
+            count = sessionCount.get();
+            if (count >= maximumSessions) {
+                return null;
+            }
+        } while (!sessionCount.compareAndSet(count, count + 1));
+
+        GameSession session;
+        do {
+            session = new GameSession(Long.toHexString(random.nextLong()), wordList, index, profiles, player, totals);
+        } while (sessions.putIfAbsent(session.getId(), session) != null);
+        return session;
+    }
+
+    /**
+     * Renders an error message as JSON. Some messages echo parts of the request path,
+     * so quotes, backslashes and control characters are escaped.
+     *
+     * @param message The error message.
+     * @return The error as JSON.
+     */
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder(message.length() + 16).append("{\"error\":\"");
+        for (int index = 0; index < message.length(); index++) {
+            char c = message.charAt(index);
+            switch (c) {
+                case '"':
+                case '\\':
+                    json.append('\\').append(c);
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                    break;
+            }
+        }
+        return json.append("\"}").toString();
+    }
+
+    /**
+     * Sends a JSON response and closes the exchange.
+     *
+     * @param exchange The request and its response.
+     * @param status The HTTP status code.
+     * @param json The body of the response.
+     * @throws IOException If the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reports a request that failed and answers it with 500, unless its response
+     * has already been started. The caller closes the exchange.
+     *
+     * @param exchange The request and its response.
+     * @param e The failure.
+     */
+    private static void fail(HttpExchange exchange, Exception e) {
+        e.printStackTrace();
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        try {
+            send(exchange, 500, error("Internal error"));
+        } catch (IOException | RuntimeException sendFailure) {
+            e.addSuppressed(sendFailure);
+        }
+    }
+
+    /**
+     * The GameHandler class routes the requests of the game API to the sessions.
+     */
+    private class GameHandler implements HttpHandler {
+
+        /**
+         * Handles one request, answering 404 for unknown sessions and paths, 405 for
+         * the wrong method, 409 for moves that the game does not allow, 503 when
+         * no more sessions can be created and 500 when a session cannot be read or
+         * anything else fails. The exchange is always closed, so a client never waits
+         * for a response that will not come.
+         *
+         * @param exchange The request and its response.
+         * @throws IOException If the response cannot be sent.
+         */
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String[] parts = path.substring(CONTEXT.length()).split("/");
+            // parts[0] is empty, parts[1] the session, parts[2] the action
+            try {
+                if (parts.length <= 1) {
+                    if (!method.equals("POST")) {
+                        send(exchange, 405, error("Use POST to start a game"));
+                        return;
+                    }
+                    String query = exchange.getRequestURI().getQuery();
+                    String player = null;
+                    if (query != null) {
+                        player = query.startsWith("player=") ? query.substring("player=".length()) : "";
+                        if (profiles == null) {
+                            send(exchange, 400, error("This server has no player profiles"));
+                            return;
+                        }
+                        if (!PLAYER.matcher(player).matches()) {
+                            send(exchange, 400, error("Expected player=ID with letters, digits and _.@-"));
+                            return;
+                        }
+                    }
+                    GameSession session = createSession(player);
+                    if (session == null) {
+                        send(exchange, 503, error("Too many sessions"));
+                    } else {
+                        send(exchange, 201, session.getState());
+                    }
+                    return;
+                }
+
+                String action = parts.length > 2 ? parts[2] : "";
+                boolean read = action.isEmpty() || action.equals("stats");
+                if (!method.equals(read ? "GET" : "POST")) {
+                    send(exchange, 405, error("Use " + (read ? "GET" : "POST") + " for " + path));
+                    return;
+                }
+
+                while (true) {
+                    GameSession session = findSession(parts[1]);
+                    if (session == null) {
+                        send(exchange, 404, error("No such game"));
+                        return;
+                    }
+                    try {
+                        handle(exchange, session, action, parts);
+                        return;
+                    } catch (GameSession.EvictedException e) {
+                        // suspended while this request waited for it; resume it from its file
+                        removeSession(session);
+                    }
+                }
+            } catch (IllegalStateException e) {
+                send(exchange, 409, error(e.getMessage()));
+            } catch (IOException | RuntimeException e) {
+                fail(exchange, e);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * Performs an action on a session and sends its response.
+         *
+         * @param exchange The request and its response.
+         * @param session The session.
+         * @param action The action, or an empty string for the state of the game.
+         * @param parts The parts of the request path.
+         * @throws IOException If the response cannot be sent.
+         * @throws GameSession.EvictedException If the session has been suspended.
+         */
+        private void handle(HttpExchange exchange, GameSession session, String action, String[] parts) 
+                throws IOException {
+            switch (action) {
+                case "":
+                    send(exchange, 200, session.getState());
+                    break;
+                case "stats":
+                    send(exchange, 200, session.getStatistics());
+                    break;
+                case "letter":
+                    if (parts.length != 4 || parts[3].length() != 1 || !isLetter(parts[3].charAt(0))) {
+                        send(exchange, 400, error("Expected one letter from A to Z"));
+                    } else {
+                        send(exchange, 200, session.type(parts[3].charAt(0)));
+                    }
+                    break;
+                case "backspace":
+                    send(exchange, 200, session.backspace());
+                    break;
+                case "submit":
+                    send(exchange, 200, session.submit());
+                    break;
+                case "new":
+                    send(exchange, 200, session.newGame());
+                    break;
+                default:
+                    send(exchange, 404, error("No such action " + action));
+                    break;
+            }
+        }
+
+        /**
+         * Checks whether a character is a letter from A to Z in either case.
+         *
+         * @param c The character.
+         * @return True if the character is an ASCII letter.
+         */
+        private boolean isLetter(char c) {
+            return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+        }
+    }
+
+    /**
+     * The StatisticsHandler class answers the statistics of every game the server has hosted.
+     */
+    private class StatisticsHandler implements HttpHandler {
+
+        /**
+         * Sends a snapshot of the totals, 405 for a method other than GET or 500 if 
+         * anything fails, and closes the exchange.
+         *
+         * @param exchange The request and its response.
+         * @throws IOException If the response cannot be sent.
+         */
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                handleStatistics(exchange);
+            } catch (IOException | RuntimeException e) {
+                fail(exchange, e);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * Sends a snapshot of the totals, or 405 for a method other than GET.
+         *
+         * @param exchange The request and its response.
+         * @throws IOException If the response cannot be sent.
+         */
+        private void handleStatistics(HttpExchange exchange) throws IOException {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, error("Use GET for /stats"));
+                return;
+            }
+
+            ConcurrentStatistics.Snapshot snapshot = totals.getSnapshot();
+            StringBuilder builder = new StringBuilder(128);
+            builder.append("{\"gamesPlayed\":").append(snapshot.getGamesPlayed());
+            builder.append(",\"gamesWon\":").append(snapshot.getGamesWon());
+            builder.append(",\"winPercentage\":").append(snapshot.getWinPercentage());
+            builder.append(",\"longestStreak\":").append(snapshot.getLongestStreak());
+            builder.append(",\"distribution\":[");
+            for (int index = 0; index < MAXIMUM_ROWS; index++) {
+                builder.append(index == 0 ? "" : ",").append(snapshot.getWordsGuessedCount(index));
+            }
+            send(exchange, 200, builder.append("]}").toString());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import edu.wm.cs.cs301.f2024.wordle.model.FirstCandidateStrategy;
+import edu.wm.cs.cs301.f2024.wordle.model.GameSimulator;
+import edu.wm.cs.cs301.f2024.wordle.model.GuessStrategy;
+import edu.wm.cs.cs301.f2024.wordle.model.RandomCandidateStrategy;
+import edu.wm.cs.cs301.f2024.wordle.model.ReadWordsRunnable;
+
+/**
+ * The WordleSimulation class is the command-line entry point for playing many Wordle
+ * games without the game window, to validate a word list or a guessing strategy.
+ */
+public class WordleSimulation {
+
+    /**
+     * Plays the requested number of games on every core and prints the guess distribution,
+     * the failure rate and the throughput.
+     *
+     * Usage: WordleSimulation [games] [threads] [seed] [random|first]
+     *
+     * Defaults to 1,000,000 games on every available core with seed 0 and the random strategy.
+     *
+     * @param args Command-line arguments.
+     * @throws IOException If the word list cannot be read.
+     * @throws InterruptedException If interrupted while the games are being played.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+        String name = args.length > 3 ? args[3] : "random";
+
+        Supplier<GuessStrategy> strategies;
+        switch (name) {
+            case "random":
+                strategies = RandomCandidateStrategy::new;
+                break;
+            case "first":
+                strategies = FirstCandidateStrategy::new;
+                break;
+            default:
+                System.err.println("Unknown strategy " + name + "; expected random or first");
+                System.exit(1);
+                return;
+        }
+
+        int columnCount = 5;
+        int maximumRows = 6;
+        List<String> words = ReadWordsRunnable.createWordList(columnCount);
+        GameSimulator simulator = new GameSimulator(words, maximumRows);
+        GameSimulator.Result result = simulator.run(games, threads, seed, strategies);
+
+        System.out.printf("%,d games of %,d words, strategy %s, seed %d, %d threads%n",
+                result.getGames(), words.size(), name, seed, threads);
+        for (int guesses = 1; guesses <= maximumRows; guesses++) {
+            long solved = result.getSolvedIn(guesses);
+            System.out.printf("%d: %,12d  %6.2f%%%n", guesses, solved, 100.0 * solved / result.getGames());
+        }
+        System.out.printf("X: %,12d  %6.2f%%%n", result.getFailures(), 100.0 * result.getFailureRate());
+        System.out.printf("%,.0f games per second%n", result.getGamesPerSecond());
+    }
+}
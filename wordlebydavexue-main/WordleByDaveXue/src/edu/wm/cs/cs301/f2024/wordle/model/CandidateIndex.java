@@ -0,0 +1,129 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.List;
+
+/**
+ * The CandidateIndex class holds precomputed bitsets over a word list, one bit per word in
+ * word list order, that let a CandidateSet apply a row of feedback with a single AND pass.
+ *
+ * There is a position mask for every (column, letter) pair, with the bits of the words that
+ * have that letter in that column, and a count mask for every (letter, count) pair, with the
+ * bits of the words that contain the letter at least that many times. The index is immutable
+ * once built and can be shared by any number of games and threads.
+ */
+public class CandidateIndex {
+
+    /** The number of letter indexes, A to Z plus one slot for any other character. */
+    static final int LETTERS = 27;
+
+    /** The number of words in the word list, initialized in the constructor. */
+    private final int wordCount;
+
+    /** The length of every word, initialized in the constructor. */
+    private final int wordLength;
+
+    /** The number of longs in each bitset, initialized in the constructor. */
+    private final int blockCount;
+
+    /** The letter indexes of every word, initialized in the constructor. */
+    private final int[][] letters;
+
+    /** The position masks, indexed by column * LETTERS + letter, initialized in the constructor. */
+    private final long[][] positionMasks;
+
+    /** The count masks, indexed by letter * (wordLength + 1) + count, initialized in the constructor. */
+    private final long[][] countMasks;
+
+    /**
+     * Constructs a CandidateIndex for a word list.
+     *
+     * @param words The word list; every word must have the same length.
+     */
+    public CandidateIndex(List<String> words) {
+        this.wordCount = words.size();
+        this.wordLength = wordCount == 0 ? 0 : words.get(0).length();
+        this.blockCount = (wordCount + 63) >>> 6;
+        this.letters = new int[wordCount][wordLength];
+        this.positionMasks = new long[wordLength * LETTERS][blockCount];
+        this.countMasks = new long[LETTERS * (wordLength + 1)][blockCount];
+
+        int[] counts = new int[LETTERS];
+        for (int word = 0; word < wordCount; word++) {
+            String text = words.get(word);
+            int block = word >>> 6;
+            long bit = 1L << word;
+
+            for (int column = 0; column < wordLength; column++) {
+                int letter = FeedbackScorer.getLetterIndex(text.charAt(column));
+                letters[word][column] = letter;
+                positionMasks[column * LETTERS + letter][block] |= bit;
+                counts[letter]++;
+                countMasks[letter * (wordLength + 1) + counts[letter]][block] |= bit;
+            }
+
+            for (int column = 0; column < wordLength; column++) {
+                counts[letters[word][column]] = 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of words in the index.
+     *
+     * @return The number of words.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Gets the length of every word in the index.
+     *
+     * @return The word length.
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Gets the number of longs in each bitset.
+     *
+     * @return The number of blocks.
+     */
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Gets the letter indexes of a word, as returned by FeedbackScorer.getLetterIndex.
+     * The returned array is shared and must not be modified.
+     *
+     * @param word The index of the word.
+     * @return The letter indexes of the word.
+     */
+    public int[] getLetters(int word) {
+        return letters[word];
+    }
+
+    /**
+     * Gets the bitset of words with a letter in a column.
+     *
+     * @param column The column.
+     * @param letter The letter index.
+     * @return The position mask.
+     */
+    long[] getPositionMask(int column, int letter) {
+        return positionMasks[column * LETTERS + letter];
+    }
+
+    /**
+     * Gets the bitset of words that contain a letter at least a number of times.
+     *
+     * @param letter The letter index.
+     * @param count The minimum number of occurrences, from 1 to the word length.
+     * @return The count mask.
+     */
+    long[] getCountMask(int letter, int count) {
+        return countMasks[letter * (wordLength + 1) + count];
+    }
+}
@@ -0,0 +1,198 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+/**
+ * The CandidateSet class tracks the answers that are still consistent with every row of
+ * feedback in a game, as a bitset over the word list of a CandidateIndex.
+ *
+ * Narrowing by a row collects the position and count masks that the row's feedback implies
+ * and then ANDs them into the set in one pass over its longs. A set keeps its own scratch
+ * arrays, so narrowing does not allocate; a set must not be shared between threads.
+ */
+public class CandidateSet {
+
+    /** The index the set is built on, initialized in the constructor. */
+    private final CandidateIndex index;
+
+    /** One bit per word of the index, set while the word is still a candidate, initialized in the constructor. */
+    private final long[] bits;
+
+    /** The number of candidates left, initialized in the reset method which is called in the constructor. */
+    private int count;
+
+    /** The masks to apply during a narrow, initialized in the constructor. */
+    private final long[][] terms;
+
+    /** Whether each mask in terms is applied inverted, initialized in the constructor. */
+    private final boolean[] inverted;
+
+    /** The number of correct or present marks per letter during a narrow, initialized in the constructor. */
+    private final int[] marked;
+
+    /** The letter indexes of the guess during a narrow, initialized in the constructor. */
+    private final int[] guessLetters;
+
+    /**
+     * Constructs a CandidateSet that starts with every word of the index.
+     *
+     * @param index The index to build the set on.
+     */
+    public CandidateSet(CandidateIndex index) {
+        this.index = index;
+        this.bits = new long[index.getBlockCount()];
+        this.terms = new long[3 * index.getWordLength()][];
+        this.inverted = new boolean[terms.length];
+        this.marked = new int[CandidateIndex.LETTERS];
+        this.guessLetters = new int[index.getWordLength()];
+        reset();
+    }
+
+    /**
+     * Makes every word of the index a candidate again.
+     */
+    public void reset() {
+        int wordCount = index.getWordCount();
+        for (int block = 0; block < bits.length; block++) {
+            bits[block] = -1L;
+        }
+        if ((wordCount & 63) != 0) {
+            bits[bits.length - 1] = (1L << wordCount) - 1;
+        }
+        this.count = wordCount;
+    }
+
+    /**
+     * Copies the candidates of another set built on the same index.
+     *
+     * @param other The set to copy.
+     */
+    public void copyFrom(CandidateSet other) {
+        System.arraycopy(other.bits, 0, bits, 0, bits.length);
+        this.count = other.count;
+    }
+
+    /**
+     * Removes every candidate that would not have produced the given feedback for a guess.
+     *
+     * @param guess The guessed letters.
+     * @param code The feedback code of the guess, as returned by FeedbackScorer.
+     * @return The number of candidates left.
+     */
+    public int narrow(char[] guess, int code) {
+        for (int column = 0; column < guessLetters.length; column++) {
+            guessLetters[column] = FeedbackScorer.getLetterIndex(guess[column]);
+        }
+        return narrow(guessLetters, code);
+    }
+
+    /**
+     * Removes every candidate that would not have produced the given feedback for a guess
+     * given as letter indexes.
+     *
+     * @param guess The letter indexes of the guess.
+     * @param code The feedback code of the guess, as returned by FeedbackScorer.
+     * @return The number of candidates left.
+     */
+    public int narrow(int[] guess, int code) {
+        int termCount = 0;
+        int absentLetters = 0;
+
+        int states = code;
+        for (int column = 0; column < guess.length; column++) {
+            int letter = guess[column];
+            int state = states % 3;
+            states /= 3;
+
+            terms[termCount] = index.getPositionMask(column, letter);
+            inverted[termCount++] = state != FeedbackScorer.CORRECT;
+            if (state == FeedbackScorer.ABSENT) {
+                absentLetters |= 1 << letter;
+            } else {
+                marked[letter]++;
+            }
+        }
+
+        for (int column = 0; column < guess.length; column++) {
+            int letter = guess[column];
+            int letterCount = marked[letter];
+            if (letterCount < 0) {
+                continue;
+            }
+            if (letterCount > 0) {
+                terms[termCount] = index.getCountMask(letter, letterCount);
+                inverted[termCount++] = false;
+            }
+            if ((absentLetters & (1 << letter)) != 0) {
+                terms[termCount] = index.getCountMask(letter, letterCount + 1);
+                inverted[termCount++] = true;
+            }
+            marked[letter] = -1;
+        }
+
+        for (int column = 0; column < guess.length; column++) {
+            marked[guess[column]] = 0;
+        }
+
+        int remaining = 0;
+        for (int block = 0; block < bits.length; block++) {
+            long value = bits[block];
+            for (int term = 0; term < termCount && value != 0; term++) {
+                value &= inverted[term] ? ~terms[term][block] : terms[term][block];
+            }
+            bits[block] = value;
+            remaining += Long.bitCount(value);
+        }
+
+        this.count = remaining;
+        return remaining;
+    }
+
+    /**
+     * Gets the number of candidates left.
+     *
+     * @return The number of candidates.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Checks whether a word is still a candidate.
+     *
+     * @param word The index of the word.
+     * @return True if the word is still a candidate; false otherwise.
+     */
+    public boolean contains(int word) {
+        return (bits[word >>> 6] & (1L << word)) != 0;
+    }
+
+    /**
+     * Finds the first candidate at or after a word index, for iterating over the set:
+     * {@code for (int w = set.next(0); w >= 0; w = set.next(w + 1))}.
+     *
+     * @param from The word index to start from.
+     * @return The index of the next candidate, or -1 if there is none.
+     */
+    public int next(int from) {
+        int block = from >>> 6;
+        if (block >= bits.length) {
+            return -1;
+        }
+        long value = bits[block] & (-1L << from);
+        while (value == 0) {
+            if (++block >= bits.length) {
+                return -1;
+            }
+            value = bits[block];
+        }
+        return (block << 6) + Long.numberOfTrailingZeros(value);
+    }
+
+    /**
+     * Gets the index the set is built on.
+     *
+     * @return The candidate index.
+     */
+    public CandidateIndex getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,154 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe statistics over the games of many players, such as every game a server
+ * has hosted. Statistics is for one player and one thread; this class is for the
+ * totals that every request thread adds to.
+ *
+ * Recording a game increments one striped LongAdder, so threads finishing games at the
+ * same time rarely touch the same memory, and the longest streak only changes, by a
+ * compare-and-set, when a streak beats it. There is one adder per number of words
+ * guessed and one for the games lost; the games won and played are derived from the
+ * same reads in getSnapshot, so the totals of a snapshot always agree with its
+ * distribution even while games are being recorded.
+ */
+public final class ConcurrentStatistics {
+
+    /** The number of games won with each number of words guessed, then the games lost, initialized in the constructor. */
+    private final LongAdder[] outcomes;
+
+    /** The longest win streak of any player, initialized in the constructor. */
+    private final AtomicInteger longestStreak;
+
+    /**
+     * Constructs an empty ConcurrentStatistics for games of up to a number of rows.
+     *
+     * @param maximumRows The number of rows of a game.
+     */
+    public ConcurrentStatistics(int maximumRows) {
+        this.outcomes = new LongAdder[maximumRows + 1];
+        for (int index = 0; index < outcomes.length; index++) {
+            outcomes[index] = new LongAdder();
+        }
+        this.longestStreak = new AtomicInteger();
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param guesses The number of rows submitted, from 1.
+     * @param won Whether the last row was the answer.
+     * @param currentStreak The player's win streak including this game.
+     * @throws IllegalArgumentException If a game won has more guesses than rows.
+     */
+    public void recordGame(int guesses, boolean won, int currentStreak) {
+        if (!won) {
+            outcomes[outcomes.length - 1].increment();
+            return;
+        }
+        if (guesses < 1 || guesses >= outcomes.length) {
+            throw new IllegalArgumentException("Guesses out of range: " + guesses);
+        }
+
+        outcomes[guesses - 1].increment();
+        int longest = longestStreak.get();
+        while (currentStreak > longest && !longestStreak.compareAndSet(longest, currentStreak)) {
+            longest = longestStreak.get();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the statistics. Every adder is read once, and the games won
+     * and played are summed from those reads.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot getSnapshot() {
+        long[] counts = new long[outcomes.length];
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] = outcomes[index].sum();
+        }
+        return new Snapshot(counts, longestStreak.get());
+    }
+
+    /**
+     * The Snapshot class holds the statistics at one moment; it never changes.
+     */
+    public static final class Snapshot {
+
+        /** The number of games won with each number of words guessed, then the games lost, initialized in the constructor. */
+        private final long[] counts;
+
+        /** The number of games won, initialized in the constructor. */
+        private final long gamesWon;
+
+        /** The longest win streak of any player, initialized in the constructor. */
+        private final int longestStreak;
+
+        /**
+         * Constructs a Snapshot.
+         *
+         * @param counts The number of games won with each number of words guessed, then the games lost.
+         * @param longestStreak The longest win streak of any player.
+         */
+        private Snapshot(long[] counts, int longestStreak) {
+            long gamesWon = 0;
+            for (int index = 0; index < counts.length - 1; index++) {
+                gamesWon += counts[index];
+            }
+            this.counts = counts;
+            this.gamesWon = gamesWon;
+            this.longestStreak = longestStreak;
+        }
+
+        /**
+         * Gets the number of games played.
+         *
+         * @return The number of games played.
+         */
+        public long getGamesPlayed() {
+            return gamesWon + counts[counts.length - 1];
+        }
+
+        /**
+         * Gets the number of games won.
+         *
+         * @return The number of games won.
+         */
+        public long getGamesWon() {
+            return gamesWon;
+        }
+
+        /**
+         * Gets the percentage of the games played that were won, rounded to the nearest whole percent.
+         *
+         * @return The win percentage from 0 to 100, or 0 if no game was played.
+         */
+        public int getWinPercentage() {
+            long gamesPlayed = getGamesPlayed();
+            return gamesPlayed == 0 ? 0 : (int) ((gamesWon * 200 + gamesPlayed) / (gamesPlayed * 2));
+        }
+
+        /**
+         * Gets the number of games won with a number of words guessed.
+         *
+         * @param wordCount The number of words guessed, counted from 0 like the rows.
+         * @return The number of games won with that many words guessed.
+         */
+        public long getWordsGuessedCount(int wordCount) {
+            return wordCount >= 0 && wordCount < counts.length - 1 ? counts[wordCount] : 0;
+        }
+
+        /**
+         * Gets the longest win streak of any player.
+         *
+         * @return The longest win streak.
+         */
+        public int getLongestStreak() {
+            return longestStreak;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A log of game events, such as the application starting, the word list loading, a
+ * guess being submitted and a game being won or lost, written to a rotating text file.
+ *
+ * Recording an event never blocks and never allocates: it claims the next slot of a
+ * preallocated ring of fixed-layout records with one compare-and-set, stores the
+ * event's type, time and three numbers in the slot, and publishes the slot by storing
+ * its sequence number last. A background thread drains the published slots in order,
+ * formats them as lines and appends them to the file, which is rotated once it grows
+ * past its maximum size. The thread sleeps while the ring is empty and is woken by the
+ * event that fills half of it. When the ring is full because the thread cannot keep up, new
+ * events are dropped and counted instead of waiting, and the count is logged.
+ *
+ * The log of the application is getDefault, in the logs folder of the Wordle folder
+ * of the home directory.
+ */
+public final class EventLog implements Closeable {
+
+    /** The number of records the ring of the default log holds. */
+    private static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /** The size past which the file of the default log is rotated, in bytes. */
+    private static final long DEFAULT_MAXIMUM_SIZE = 4L << 20;
+
+    /** The number of rotated files the default log keeps. */
+    private static final int DEFAULT_FILES = 4;
+
+    /** The size of a record in bytes: sequence, time, value, type, a, b and padding. */
+    private static final int RECORD_SIZE = 40;
+
+    /** The offset of the sequence number plus one that publishes a record; 0 if never written. */
+    private static final int SEQUENCE = 0;
+
+    /** The offset of the time of the event in milliseconds since the epoch. */
+    private static final int TIME = 8;
+
+    /** The offset of the long value of the event. */
+    private static final int VALUE = 16;
+
+    /** The offset of the ordinal of the event type. */
+    private static final int TYPE = 24;
+
+    /** The offset of the first int of the event. */
+    private static final int A = 28;
+
+    /** The offset of the second int of the event. */
+    private static final int B = 32;
+
+    /** How long the flusher sleeps when the ring is empty, in nanoseconds. */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /** The number of characters formatted before they are written to the file. */
+    private static final int WRITE_CHUNK = 1 << 16;
+
+    /** The view of the ring that publishes and reads the sequence numbers. */
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /** The types of the events, with the names of their numbers or null for a number a type does not use. */
+    public enum Event {
+        /** The game window opened. */
+        APP_STARTED(null, null, null),
+        /** The server started; a is the port. */
+        SERVER_STARTED("port", null, null),
+        /** The word list was loaded; a is the number of words and value the milliseconds it took. */
+        WORD_LIST_LOADED("words", null, "millis"),
+        /** The word list could not be read. */
+        WORD_LIST_FAILED(null, null, null),
+        /** The packed dictionary was read; a is the number of words of the length asked for. */
+        DICTIONARY_READ("words", null, null),
+        /** The packed dictionary was rewritten from the resource file; a is the number of words. */
+        DICTIONARY_WRITTEN("words", null, null),
+        /** The packed dictionary could not be read or written. */
+        DICTIONARY_FAILED(null, null, null),
+        /** A row was scored; a is the row, b the base-3 feedback code and value the index of the answer. */
+        GUESS_SUBMITTED("row", "feedback", "answer"),
+        /** A game was won; a is the number of guesses, b the index of the answer and value the milliseconds it took. */
+        GAME_WON("guesses", "answer", "millis"),
+        /** A game was lost; a is the number of guesses, b the index of the answer and value the milliseconds it took. */
+        GAME_LOST("guesses", "answer", "millis");
+
+        /** The name of the first int, or null, initialized in the constructor. */
+        private final String a;
+
+        /** The name of the second int, or null, initialized in the constructor. */
+        private final String b;
+
+        /** The name of the long value, or null, initialized in the constructor. */
+        private final String value;
+
+        /**
+         * Constructs an Event.
+         *
+         * @param a The name of the first int, or null.
+         * @param b The name of the second int, or null.
+         * @param value The name of the long value, or null.
+         */
+        Event(String a, String b, String value) {
+            this.a = a;
+            this.b = b;
+            this.value = value;
+        }
+    }
+
+    /** The event types by ordinal, for the flusher. */
+    private static final Event[] EVENTS = Event.values();
+
+    /** The file the events are appended to, initialized in the constructor. */
+    private final Path file;
+
+    /** The size past which the file is rotated, in bytes, initialized in the constructor. */
+    private final long maximumSize;
+
+    /** The number of rotated files kept, initialized in the constructor. */
+    private final int files;
+
+    /** The number of records the ring holds, initialized in the constructor. */
+    private final int capacity;
+
+    /** The preallocated ring of records, initialized in the constructor. */
+    private final ByteBuffer ring;
+
+    /** The sequence number of the next record to claim. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The sequence number of the next record to drain; written only by the flusher. */
+    private volatile long head;
+
+    /** The sequence number up to which the records are written to the file; written only by the flusher. */
+    private volatile long written;
+
+    /** The number of events dropped because the ring was full. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** Whether close was called. */
+    private volatile boolean closed;
+
+    /** The thread that drains the ring into the file, initialized in the constructor. */
+    private final Thread flusher;
+
+    /** The writer of the file, or null if it cannot be opened; used only by the flusher. */
+    private BufferedWriter out;
+
+    /** The size of the file in bytes; used only by the flusher. */
+    private long size;
+
+    /**
+     * Constructs an EventLog and starts its flusher.
+     *
+     * @param file The file the events are appended to; rotated files get the suffixes .1, .2 and so on.
+     * @param capacity The number of records the ring holds.
+     * @param maximumSize The size past which the file is rotated, in bytes.
+     * @param files The number of rotated files kept.
+     */
+    public EventLog(Path file, int capacity, long maximumSize, int files) {
+        this.file = file;
+        this.capacity = capacity;
+        this.maximumSize = maximumSize;
+        this.files = files;
+        this.ring = ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+        this.flusher = new Thread(this::drain, "EventLog");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Gets the log of the application, creating it on first use.
+     *
+     * @return The log in the logs folder of the Wordle folder of the home directory.
+     */
+    public static EventLog getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Records an event without blocking. If the ring is full the event is dropped and counted.
+     *
+     * @param event The type of the event.
+     * @param a The first int, as described by the type.
+     * @param b The second int, as described by the type.
+     * @param value The long value, as described by the type.
+     */
+    public void record(Event event, int a, int b, long value) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity || closed) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int offset = (int) (sequence % capacity) * RECORD_SIZE;
+        ring.putLong(offset + TIME, System.currentTimeMillis());
+        ring.putLong(offset + VALUE, value);
+        ring.putInt(offset + TYPE, event.ordinal());
+        ring.putInt(offset + A, a);
+        ring.putInt(offset + B, b);
+        LONG.setRelease(ring, offset + SEQUENCE, sequence + 1);
+        if (sequence - head == capacity / 2) {
+            // a burst: wake the flusher instead of letting the ring fill while it sleeps
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because the ring was full.
+     *
+     * @return The number of events dropped.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until every event recorded before the call is written to the file.
+     *
+     * @param timeout The longest time to wait, or 0 to wait as long as it takes.
+     * @param unit The unit of the timeout.
+     * @return True if the events were written; false if the timeout elapsed first.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (written < target) {
+            if (!flusher.isAlive() || (timeout > 0 && System.nanoTime() - deadline >= 0)) {
+                return written >= target;
+            }
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Stops recording, writes the events recorded so far and closes the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs on the flusher: formats the published records as lines and appends them to
+     * the file until the log is closed and the ring is empty, sleeping while it is empty.
+     */
+    private void drain() {
+        DateTimeFormatter time = DateTimeFormatter.ISO_INSTANT;
+        StringBuilder lines = new StringBuilder(WRITE_CHUNK + 256);
+        long reportedDrops = 0;
+        open();
+        while (true) {
+            long sequence = head;
+            int offset = (int) (sequence % capacity) * RECORD_SIZE;
+            if ((long) LONG.getAcquire(ring, offset + SEQUENCE) == sequence + 1) {
+                Event event = EVENTS[ring.getInt(offset + TYPE)];
+                time.formatTo(Instant.ofEpochMilli(ring.getLong(offset + TIME)), lines);
+                lines.append(' ').append(event.name());
+                if (event.a != null) {
+                    lines.append(' ').append(event.a).append('=').append(ring.getInt(offset + A));
+                }
+                if (event.b != null) {
+                    lines.append(' ').append(event.b).append('=').append(ring.getInt(offset + B));
+                }
+                if (event.value != null) {
+                    lines.append(' ').append(event.value).append('=').append(ring.getLong(offset + VALUE));
+                }
+                lines.append('\n');
+                head = sequence + 1;
+                if (lines.length() < WRITE_CHUNK) {
+                    continue;
+                }
+            }
+
+            long drops = dropped.sum();
+            if (drops > reportedDrops) {
+                time.formatTo(Instant.now(), lines);
+                lines.append(" EVENTS_DROPPED count=").append(drops - reportedDrops).append('\n');
+                reportedDrops = drops;
+            }
+            if (lines.length() > 0) {
+                write(lines);
+                lines.setLength(0);
+            }
+            written = head;
+            if (head == sequence) {
+                if (closed && tail.get() == head) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+        closeFile();
+    }
+
+    /**
+     * Appends lines to the file and rotates it if it grew past its maximum size. If the
+     * file cannot be written the lines are discarded, so a full disk never stops the game.
+     *
+     * @param lines The lines, each ending with a line feed.
+     */
+    private void write(CharSequence lines) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.append(lines);
+            out.flush();
+            size += lines.length();
+            if (size >= maximumSize) {
+                rotate();
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot write the event log " + file + ": " + e.getMessage());
+            closeFile();
+        }
+    }
+
+    /**
+     * Renames the file to the suffix .1, each rotated file to the next suffix, dropping
+     * the last, and opens a new file.
+     *
+     * @throws IOException If a file cannot be renamed.
+     */
+    private void rotate() throws IOException {
+        closeFile();
+        Files.deleteIfExists(rotated(files));
+        for (int index = files - 1; index >= 1; index--) {
+            if (Files.exists(rotated(index))) {
+                Files.move(rotated(index), rotated(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    /**
+     * Gets the path of a rotated file.
+     *
+     * @param index The suffix, from 1.
+     * @return The path of the rotated file.
+     */
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /**
+     * Opens the file for appending, creating its folder. If it cannot be opened the
+     * events are discarded.
+     */
+    private void open() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            size = Files.size(file);
+        } catch (IOException e) {
+            System.err.println("Cannot open the event log " + file + ": " + e.getMessage());
+            out = null;
+        }
+    }
+
+    /**
+     * Closes the file, ignoring errors.
+     */
+    private void closeFile() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            // the lines already written are kept
+        }
+        out = null;
+    }
+
+    /**
+     * The DefaultHolder class creates the default log on first use.
+     */
+    private static final class DefaultHolder {
+
+        /** The log of the application. */
+        private static final EventLog DEFAULT = new EventLog(
+                Paths.get(System.getProperty("user.home"), "Wordle", "logs", "events.log"),
+                DEFAULT_CAPACITY, DEFAULT_MAXIMUM_SIZE, DEFAULT_FILES);
+    }
+}
@@ -0,0 +1,278 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * The FeedbackMatrix class holds the feedback code of every guess scored against every answer
+ * of a word list, so solvers and simulations can look a pair up instead of scoring it again.
+ *
+ * The matrix is one byte per pair, stored row by row (one row per guess) after a small header,
+ * in a memory-mapped file named after a hash of the word list. The first load for a word list
+ * scores every pair in parallel and writes the file; later loads only map it.
+ */
+public class FeedbackMatrix {
+
+    /** The magic number at the start of every feedback matrix file ("WFBM"). */
+    private static final int MAGIC = 0x5746424D;
+
+    /** The version of the file layout written by this class. */
+    private static final int VERSION = 1;
+
+    /** The size of the header in bytes (magic, version, word count, word length, dictionary hash). */
+    private static final int HEADER_SIZE = 24;
+
+    /** The memory-mapped matrix file, initialized in the constructor. */
+    private final MappedByteBuffer buffer;
+
+    /** The number of words in the word list, initialized in the constructor. */
+    private final int wordCount;
+
+    /**
+     * Constructs a FeedbackMatrix over an already validated mapping.
+     *
+     * @param buffer The memory-mapped matrix file.
+     * @param wordCount The number of words in the word list.
+     */
+    private FeedbackMatrix(MappedByteBuffer buffer, int wordCount) {
+        this.buffer = buffer;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Loads the feedback matrix for a word list from the Wordle folder of the user's
+     * home directory, computing and saving it first if it does not exist yet.
+     *
+     * @param words The word list; every word must have the same length of at most five letters.
+     * @param cancelled Checked while the matrix is computed; when it returns true the computation stops.
+     * @return The feedback matrix for the word list.
+     * @throws IOException If the matrix file cannot be read or written.
+     * @throws CancellationException If the computation was cancelled.
+     */
+    public static FeedbackMatrix load(List<String> words, BooleanSupplier cancelled) throws IOException {
+        return load(Paths.get(System.getProperty("user.home"), "Wordle"), words, cancelled);
+    }
+
+    /**
+     * Loads the feedback matrix for a word list from the given folder, computing and
+     * saving it first if it does not exist yet.
+     *
+     * @param directory The folder holding matrix files.
+     * @param words The word list; every word must have the same length of at most five letters.
+     * @return The feedback matrix for the word list.
+     * @throws IOException If the matrix file cannot be read or written.
+     */
+    public static FeedbackMatrix load(Path directory, List<String> words) throws IOException {
+        return load(directory, words, () -> false);
+    }
+
+    /**
+     * Loads the feedback matrix for a word list from the given folder, computing and
+     * saving it first if it does not exist yet. The matrix is computed in a temporary file
+     * while a lock file named after the word list is locked, so threads and processes
+     * loading the same list wait for one computation instead of racing on the file. The
+     * lock file is left in the folder for the next computation; a cancelled computation
+     * deletes its temporary file before it returns.
+     *
+     * @param directory The folder holding matrix files.
+     * @param words The word list; every word must have the same length of at most five letters.
+     * @param cancelled Checked while the matrix is computed; when it returns true the computation stops.
+     * @return The feedback matrix for the word list.
+     * @throws IOException If the matrix file cannot be read or written.
+     * @throws CancellationException If the computation was cancelled.
+     */
+    public static FeedbackMatrix load(Path directory, List<String> words, BooleanSupplier cancelled)
+            throws IOException {
+        long hash = hash(words);
+        String name = "feedback-" + Long.toHexString(hash);
+        Path file = directory.resolve(name + ".matrix");
+
+        FeedbackMatrix matrix = open(file, words.size(), hash);
+        if (matrix != null) {
+            return matrix;
+        }
+
+        synchronized (FeedbackMatrix.class) {
+            Files.createDirectories(directory);
+            try (FileChannel lock = FileChannel.open(directory.resolve(name + ".lock"), StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE)) {
+                // released when the channel is closed
+                lock.lock();
+                matrix = open(file, words.size(), hash);
+                if (matrix == null) {
+                    Path temporary = directory.resolve(name + ".tmp");
+                    try {
+                        compute(temporary, words, hash, cancelled);
+                        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        Files.deleteIfExists(temporary);
+                    }
+                    matrix = open(file, words.size(), hash);
+                }
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of a word list, ignoring case.
+     *
+     * @param words The word list.
+     * @return The hash of the word list.
+     */
+    public static long hash(List<String> words) {
+        long hash = 0xcbf29ce484222325L;
+        for (String word : words) {
+            for (int index = 0; index < word.length(); index++) {
+                hash ^= Character.toUpperCase(word.charAt(index));
+                hash *= 0x100000001b3L;
+            }
+            hash ^= '\n';
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Opens and memory-maps a matrix file, rejecting it if it belongs to another word list.
+     *
+     * @param file The matrix file.
+     * @param wordCount The number of words the matrix must have.
+     * @param hash The dictionary hash the matrix must have.
+     * @return The opened matrix, or null if the file is missing or does not match.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    private static FeedbackMatrix open(Path file, int wordCount, long hash) throws IOException {
+        long size = HEADER_SIZE + (long) wordCount * wordCount;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != size) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getInt(8) != wordCount || buffer.getLong(16) != hash) {
+                return null;
+            }
+            return new FeedbackMatrix(buffer, wordCount);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Scores every guess against every answer, one guess row per task across all cores,
+     * and writes the result to the given file, replacing anything already in it. The rows
+     * are written through the channel rather than a mapping, so the file is closed and
+     * can be renamed once this returns.
+     *
+     * @param file The file to write.
+     * @param words The word list.
+     * @param hash The hash of the word list.
+     * @param cancelled Checked before each guess row; when it returns true the computation stops.
+     * @throws IOException If the file cannot be written.
+     * @throws CancellationException If the computation was cancelled.
+     */
+    private static void compute(Path file, List<String> words, long hash, BooleanSupplier cancelled)
+            throws IOException {
+        int wordCount = words.size();
+        int wordLength = wordCount == 0 ? 0 : words.get(0).length();
+        if (wordLength > 5) {
+            throw new IllegalArgumentException("Feedback codes of " + wordLength + "-letter words do not fit in a byte");
+        }
+
+        int[][] letters = new int[wordCount][wordLength];
+        for (int word = 0; word < wordCount; word++) {
+            String text = words.get(word);
+            if (text.length() != wordLength) {
+                throw new IllegalArgumentException("Word " + text + " is not " + wordLength + " letters long");
+            }
+            for (int column = 0; column < wordLength; column++) {
+                letters[word][column] = FeedbackScorer.getLetterIndex(text.charAt(column));
+            }
+        }
+
+        long size = HEADER_SIZE + (long) wordCount * wordCount;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A matrix of " + wordCount + " words is too large to map");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            IntStream.range(0, wordCount).parallel().forEach(guess -> {
+                if (cancelled.getAsBoolean()) {
+                    return;
+                }
+                FeedbackScorer scorer = new FeedbackScorer();
+                byte[] row = new byte[wordCount];
+                for (int answer = 0; answer < wordCount; answer++) {
+                    row[answer] = (byte) scorer.score(letters[guess], letters[answer]);
+                }
+                try {
+                    write(channel, ByteBuffer.wrap(row), HEADER_SIZE + (long) guess * wordCount);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(wordCount).putInt(wordLength).putLong(hash).flip();
+            write(channel, header, 0);
+            channel.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes a buffer to a channel at a position, however many writes it takes.
+     *
+     * @param channel The open channel.
+     * @param buffer The bytes to write.
+     * @param position The position in the file of the first byte.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Gets the feedback code of a guess scored against an answer.
+     *
+     * @param guess The index of the guess in the word list.
+     * @param answer The index of the answer in the word list.
+     * @return The feedback code, from 0 to 242.
+     */
+    public int get(int guess, int answer) {
+        return buffer.get(HEADER_SIZE + guess * wordCount + answer) & 0xFF;
+    }
+
+    /**
+     * Gets the number of words in the word list the matrix was computed for.
+     *
+     * @return The number of words.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+}
@@ -0,0 +1,159 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+/**
+ * Scores a guess against an answer and packs the feedback for the whole row into one int.
+ *
+ * The feedback code is a base-3 number with one digit per column, column 0 being the least
+ * significant digit: ABSENT (0) when the letter is not in the answer, PRESENT (1) when it is
+ * in the answer at another position, and CORRECT (2) when it is at this position. Repeated
+ * letters are handled like the original game: a letter is only marked PRESENT as many times
+ * as it still occurs in the answer after the CORRECT positions are taken out.
+ *
+ * A scorer reuses its letter counts between calls, so scoring does not allocate. A scorer
+ * must not be shared between threads; create one per thread instead.
+ */
+public class FeedbackScorer {
+
+    /** The digit for a letter that does not occur in the answer. */
+    public static final int ABSENT = 0;
+
+    /** The digit for a letter that occurs in the answer at another position. */
+    public static final int PRESENT = 1;
+
+    /** The digit for a letter at the correct position. */
+    public static final int CORRECT = 2;
+
+    /** The number of distinct feedback codes for a five letter word (3 to the 5th). */
+    public static final int CODE_COUNT = 243;
+
+    /** The letter slot shared by every character that is not A to Z, such as an apostrophe. */
+    private static final int OTHER = 26;
+
+    /** The unmatched letter counts of the answer, one slot per letter plus OTHER, initialized in the constructor. */
+    private final int[] counts;
+
+    /**
+     * Constructs a FeedbackScorer with its own letter counts.
+     */
+    public FeedbackScorer() {
+        this.counts = new int[OTHER + 1];
+    }
+
+    /**
+     * Scores a guess against an answer, ignoring case.
+     *
+     * @param guess The guessed letters.
+     * @param answer The letters of the answer, the same length as the guess.
+     * @return The feedback code for the row.
+     */
+    public int score(char[] guess, char[] answer) {
+        int length = guess.length;
+
+        for (int column = 0; column < length; column++) {
+            int answerSlot = getLetterIndex(answer[column]);
+            if (getLetterIndex(guess[column]) != answerSlot) {
+                counts[answerSlot]++;
+            }
+        }
+
+        int code = 0;
+        int power = 1;
+        for (int column = 0; column < length; column++) {
+            int guessSlot = getLetterIndex(guess[column]);
+            int state = ABSENT;
+            if (guessSlot == getLetterIndex(answer[column])) {
+                state = CORRECT;
+            } else if (counts[guessSlot] > 0) {
+                counts[guessSlot]--;
+                state = PRESENT;
+            }
+            code += state * power;
+            power *= 3;
+        }
+
+        for (int column = 0; column < length; column++) {
+            counts[getLetterIndex(answer[column])] = 0;
+        }
+
+        return code;
+    }
+
+    /**
+     * Scores a guess against an answer that have both been converted to letter indexes
+     * with {@link #getLetterIndex(char)}.
+     *
+     * @param guess The letter indexes of the guess.
+     * @param answer The letter indexes of the answer, the same length as the guess.
+     * @return The feedback code for the row.
+     */
+    public int score(int[] guess, int[] answer) {
+        int length = guess.length;
+
+        for (int column = 0; column < length; column++) {
+            if (guess[column] != answer[column]) {
+                counts[answer[column]]++;
+            }
+        }
+
+        int code = 0;
+        int power = 1;
+        for (int column = 0; column < length; column++) {
+            int letter = guess[column];
+            int state = ABSENT;
+            if (letter == answer[column]) {
+                state = CORRECT;
+            } else if (counts[letter] > 0) {
+                counts[letter]--;
+                state = PRESENT;
+            }
+            code += state * power;
+            power *= 3;
+        }
+
+        for (int column = 0; column < length; column++) {
+            counts[answer[column]] = 0;
+        }
+
+        return code;
+    }
+
+    /**
+     * Converts a character to its letter index: 0 to 25 for A to Z in either case,
+     * and 26 for anything else.
+     *
+     * @param c The character.
+     * @return The letter index of the character.
+     */
+    public static int getLetterIndex(char c) {
+        int letter = (c | 0x20) - 'a';
+        return (letter >= 0 && letter < OTHER) ? letter : OTHER;
+    }
+
+    /**
+     * Gets the feedback digit for one column of a feedback code.
+     *
+     * @param code The feedback code.
+     * @param column The column.
+     * @return ABSENT, PRESENT or CORRECT.
+     */
+    public static int getState(int code, int column) {
+        for (int index = 0; index < column; index++) {
+            code /= 3;
+        }
+        return code % 3;
+    }
+
+    /**
+     * Gets the feedback code of a row where every letter is correct.
+     *
+     * @param columnCount The number of columns in the row.
+     * @return The feedback code of a solved row.
+     */
+    public static int getSolvedCode(int columnCount) {
+        int code = 0;
+        for (int column = 0; column < columnCount; column++) {
+            code = code * 3 + CORRECT;
+        }
+        return code;
+    }
+}
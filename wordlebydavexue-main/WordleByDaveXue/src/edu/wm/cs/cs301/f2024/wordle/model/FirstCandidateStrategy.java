@@ -0,0 +1,23 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Guesses the first remaining answer in word list order. The strategy is deterministic,
+ * which makes it a stable baseline when comparing dictionaries.
+ */
+public class FirstCandidateStrategy implements GuessStrategy {
+
+    /**
+     * Picks the first remaining answer.
+     *
+     * @param remaining The answers still consistent with every row so far.
+     * @param row The row being guessed, starting at 0.
+     * @param random The random generator of the simulating thread, unused.
+     * @return The word index of the guess.
+     */
+    @Override
+    public int nextGuess(CandidateSet remaining, int row, SplittableRandom random) {
+        return remaining.next(0);
+    }
+}
@@ -0,0 +1,211 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events of the game's hot paths, and the recording that
+ * keeps them.
+ *
+ * Each event is timed with begin and commit around the operation it describes, and
+ * has no stack trace, so an event costs a few nanoseconds when it is recorded and a
+ * single check when it is not. The profile in /resources/wordle.jfc enables these
+ * events with the low-overhead JDK events, so a recording can stay on in the field:
+ *
+ * <pre>
+ * java -XX:StartFlightRecording:settings=wordle.jfc,maxage=1h,dumponexit=true ...
+ * </pre>
+ *
+ * or startRecording starts the same recording from the copy of the profile on the
+ * class path, which the game and the server do unless wordle.recording is false. The
+ * recording is read with JDK Mission Control or the jfr tool.
+ */
+public final class FlightEvents {
+
+    /** The category of every event. */
+    private static final String CATEGORY = "Wordle";
+
+    /** How long startRecording keeps events on the disk. */
+    private static final Duration MAXIMUM_AGE = Duration.ofHours(1);
+
+    /** The most disk space startRecording keeps events in, in bytes. */
+    private static final long MAXIMUM_SIZE = 64L << 20;
+
+    /**
+     * Constructs nothing; the class only holds the events.
+     */
+    private FlightEvents() {
+    }
+
+    /**
+     * Starts the recording of the application, dumped to the logs folder of the Wordle
+     * folder of the home directory on exit, unless the system property wordle.recording
+     * is false. A recording that cannot be started is reported and skipped.
+     */
+    public static void startRecording() {
+        if (!Boolean.parseBoolean(System.getProperty("wordle.recording", "true"))) {
+            return;
+        }
+
+        try {
+            startRecording(Paths.get(System.getProperty("user.home"), "Wordle", "logs"));
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Cannot start the flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a recording with the profile in /resources/wordle.jfc that keeps the last
+     * hour of events on the disk and dumps them to a file in a folder on exit.
+     *
+     * @param directory The folder of the file wordle.jfr the recording is dumped to.
+     * @return The recording, already started.
+     * @throws IOException If the profile cannot be read or the folder cannot be created.
+     * @throws ParseException If the profile is not a valid JFR configuration.
+     */
+    public static Recording startRecording(Path directory) throws IOException, ParseException {
+        Configuration configuration;
+        try (InputStream stream = FlightEvents.class.getResourceAsStream("/resources/wordle.jfc")) {
+            if (stream == null) {
+                throw new IOException("Missing /resources/wordle.jfc");
+            }
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                configuration = Configuration.create(reader);
+            }
+        }
+
+        Files.createDirectories(directory);
+        Recording recording = new Recording(configuration);
+        recording.setName("Wordle");
+        recording.setToDisk(true);
+        recording.setMaxAge(MAXIMUM_AGE);
+        recording.setMaxSize(MAXIMUM_SIZE);
+        recording.setDestination(directory.resolve("wordle.jfr"));
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * The WordListLoad event times reading the word list.
+     */
+    @Name("wordle.WordListLoad")
+    @Label("Word List Load")
+    @Description("Reading the word list from the packed dictionary or the text resource")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class WordListLoad extends Event {
+
+        /** The number of words of the length asked for. */
+        @Label("Words")
+        public int words;
+
+        /** The number of bytes of the dictionary or text read. */
+        @Label("Bytes Read")
+        @DataAmount
+        public long bytesRead;
+
+        /** Whether the words came from the packed dictionary rather than the text resource. */
+        @Label("Packed")
+        public boolean packed;
+    }
+
+    /**
+     * The RowScored event times scoring a submitted row and narrowing the candidates.
+     */
+    @Name("wordle.RowScored")
+    @Label("Row Scored")
+    @Description("Scoring a submitted row and narrowing the remaining candidates")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class RowScored extends Event {
+
+        /** The row scored. */
+        @Label("Row")
+        public int row;
+
+        /** The base-3 feedback code of the row. */
+        @Label("Feedback")
+        public int feedback;
+
+        /** The number of candidates left after the row. */
+        @Label("Candidates")
+        public int candidates;
+    }
+
+    /**
+     * The StatisticsIo event times reading or writing the statistics files.
+     */
+    @Name("wordle.StatisticsIo")
+    @Label("Statistics I/O")
+    @Description("Reading the statistics at start-up or writing them in the background")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class StatisticsIo extends Event {
+
+        /** Whether the statistics were written rather than read. */
+        @Label("Write")
+        public boolean write;
+
+        /** The number of bytes read or written. */
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        /** The number of journal records read or appended. */
+        @Label("Records")
+        public long records;
+    }
+
+    /**
+     * The GridPaint event times painting the grid, one frame.
+     */
+    @Name("wordle.GridPaint")
+    @Label("Grid Paint")
+    @Description("Painting the letter grid")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class GridPaint extends Event {
+
+        /** The width of the clip painted, in pixels. */
+        @Label("Clip Width")
+        public int clipWidth;
+
+        /** The height of the clip painted, in pixels. */
+        @Label("Clip Height")
+        public int clipHeight;
+    }
+
+    /**
+     * The KeyAction event times dispatching a key of the keyboard on the EDT.
+     */
+    @Name("wordle.KeyAction")
+    @Label("Key Action")
+    @Description("Handling a key of the on-screen or physical keyboard on the event dispatch thread")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class KeyAction extends Event {
+
+        /** The action command of the key, such as a letter, Enter or Backspace. */
+        @Label("Key")
+        public String key;
+    }
+}
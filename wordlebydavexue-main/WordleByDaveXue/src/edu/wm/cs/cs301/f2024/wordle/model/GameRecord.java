@@ -0,0 +1,160 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One finished game as stored in the statistics journal.
+ *
+ * A record is 16 bytes:
+ *
+ * <pre>
+ * timestamp     8 bytes, milliseconds since the epoch, or 0 if unknown
+ * answer index  4 bytes, the index of the answer in the word list, or -1 if unknown
+ * guesses       1 byte, the number of rows submitted
+ * flags         1 byte, WON and HISTORY
+ * solve time    2 bytes, unsigned, the seconds the game took plus one, or 0 if unknown
+ * </pre>
+ */
+public final class GameRecord {
+
+    /** The size of a record in bytes. */
+    public static final int SIZE = 16;
+
+    /** The flag of a game that was won. */
+    static final int WON = 1;
+
+    /**
+     * The flag of a record that only keeps the history of a game whose counts are
+     * already in a summary, such as a game migrated from the old statistics log.
+     */
+    static final int HISTORY = 2;
+
+    /** The time the game finished in milliseconds since the epoch, initialized in the constructor. */
+    private final long timestamp;
+
+    /** The index of the answer in the word list, initialized in the constructor. */
+    private final int answerIndex;
+
+    /** The number of rows submitted, initialized in the constructor. */
+    private final int guesses;
+
+    /** The WON and HISTORY flags of the record, initialized in the constructor. */
+    private final int flags;
+
+    /** The seconds the game took, or -1 if unknown, initialized in the constructor. */
+    private final int solveSeconds;
+
+    /**
+     * Constructs a GameRecord.
+     *
+     * @param timestamp The time the game finished in milliseconds since the epoch, or 0 if unknown.
+     * @param answerIndex The index of the answer in the word list, or -1 if unknown.
+     * @param guesses The number of rows submitted, from 1 to 127.
+     * @param flags The WON and HISTORY flags of the record.
+     */
+    GameRecord(long timestamp, int answerIndex, int guesses, int flags) {
+        this(timestamp, answerIndex, guesses, flags, -1);
+    }
+
+    /**
+     * Constructs a GameRecord with the time the game took.
+     *
+     * @param timestamp The time the game finished in milliseconds since the epoch, or 0 if unknown.
+     * @param answerIndex The index of the answer in the word list, or -1 if unknown.
+     * @param guesses The number of rows submitted, from 1 to 127.
+     * @param flags The WON and HISTORY flags of the record.
+     * @param solveSeconds The seconds the game took, at most 65,534 are kept, or -1 if unknown.
+     */
+    GameRecord(long timestamp, int answerIndex, int guesses, int flags, int solveSeconds) {
+        if (guesses < 1 || guesses > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Guesses out of range: " + guesses);
+        }
+        this.timestamp = timestamp;
+        this.answerIndex = answerIndex;
+        this.guesses = guesses;
+        this.flags = flags;
+        this.solveSeconds = solveSeconds < 0 ? -1 : Math.min(solveSeconds, 0xfffe);
+    }
+
+    /**
+     * Reads a record at the position of a buffer and advances the position.
+     *
+     * @param buffer The buffer.
+     * @return The record.
+     */
+    static GameRecord read(ByteBuffer buffer) {
+        long timestamp = buffer.getLong();
+        int answerIndex = buffer.getInt();
+        int guesses = buffer.get();
+        int flags = buffer.get();
+        int solveTime = buffer.getShort() & 0xffff;
+        return new GameRecord(timestamp, answerIndex, Math.max(guesses, 1), flags, solveTime - 1);
+    }
+
+    /**
+     * Writes the record at the position of a buffer and advances the position.
+     *
+     * @param buffer The buffer.
+     */
+    void write(ByteBuffer buffer) {
+        buffer.putLong(timestamp);
+        buffer.putInt(answerIndex);
+        buffer.put((byte) guesses);
+        buffer.put((byte) flags);
+        buffer.putShort((short) (solveSeconds + 1));
+    }
+
+    /**
+     * Gets the time the game finished.
+     *
+     * @return The time in milliseconds since the epoch, or 0 if unknown.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the index of the answer in the word list.
+     *
+     * @return The index of the answer, or -1 if unknown.
+     */
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
+    /**
+     * Gets the number of rows submitted.
+     *
+     * @return The number of guesses, from 1.
+     */
+    public int getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Gets the time the game took.
+     *
+     * @return The time in seconds, or -1 if unknown.
+     */
+    public int getSolveSeconds() {
+        return solveSeconds;
+    }
+
+    /**
+     * Checks whether the game was won.
+     *
+     * @return True if the last guess was the answer.
+     */
+    public boolean isWon() {
+        return (flags & WON) != 0;
+    }
+
+    /**
+     * Checks whether the record only keeps history, its counts being in a summary already.
+     *
+     * @return True if the record must not be counted when the journal is replayed.
+     */
+    boolean isHistory() {
+        return (flags & HISTORY) != 0;
+    }
+}
@@ -0,0 +1,183 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Plays Wordle games without a user interface, as fast as the machine allows, to measure
+ * how a guessing strategy does on a word list.
+ *
+ * The games are split evenly across worker threads. Every worker gets its own random
+ * generator, split from one seeded root in worker order, so a run with the same seed and
+ * thread count always plays the same games. Each worker reuses one CandidateSet, one
+ * FeedbackScorer and one strategy for all of its games, so playing a guess does not allocate.
+ */
+public class GameSimulator {
+
+    /** The index over the word list, initialized in the constructor. */
+    private final CandidateIndex index;
+
+    /** The maximum number of rows (attempts) per game, initialized in the constructor. */
+    private final int maximumRows;
+
+    /**
+     * Constructs a GameSimulator for a word list.
+     *
+     * @param words The word list, used both for answers and for guesses.
+     * @param maximumRows The maximum number of rows (attempts) per game.
+     */
+    public GameSimulator(List<String> words, int maximumRows) {
+        this.index = new CandidateIndex(words);
+        this.maximumRows = maximumRows;
+    }
+
+    /**
+     * Plays a number of games across worker threads and waits for them to finish.
+     *
+     * @param games The total number of games to play.
+     * @param threads The number of worker threads.
+     * @param seed The seed of the root random generator.
+     * @param strategies Creates one strategy per worker thread.
+     * @return The combined results of every worker.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public Result run(long games, int threads, long seed, Supplier<GuessStrategy> strategies) throws InterruptedException {
+        SplittableRandom root = new SplittableRandom(seed);
+        long[][] distributions = new long[threads][];
+        Thread[] workers = new Thread[threads];
+
+        long start = System.nanoTime();
+        for (int worker = 0; worker < threads; worker++) {
+            long share = games / threads + (worker < games % threads ? 1 : 0);
+            SplittableRandom random = root.split();
+            GuessStrategy strategy = strategies.get();
+            int slot = worker;
+            workers[worker] = new Thread(() -> distributions[slot] = play(share, random, strategy), "GameSimulator-" + worker);
+            workers[worker].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] distribution = new long[maximumRows + 1];
+        for (long[] counts : distributions) {
+            for (int row = 0; row < counts.length; row++) {
+                distribution[row] += counts[row];
+            }
+        }
+        return new Result(distribution, elapsed);
+    }
+
+    /**
+     * Plays games on the calling thread. The counts are allocated by the worker itself 
+     * so that workers do not write to the same cache lines.
+     *
+     * @param games The number of games to play.
+     * @param random The random generator of this thread.
+     * @param strategy The strategy of this thread.
+     * @return The number of games solved in each number of guesses, with failures at index 0.
+     */
+    private long[] play(long games, SplittableRandom random, GuessStrategy strategy) {
+        long[] distribution = new long[maximumRows + 1];
+        CandidateSet remaining = new CandidateSet(index);
+        FeedbackScorer scorer = new FeedbackScorer();
+        int solved = FeedbackScorer.getSolvedCode(index.getWordLength());
+        int wordCount = index.getWordCount();
+
+        for (long game = 0; game < games; game++) {
+            int[] answer = index.getLetters(random.nextInt(wordCount));
+            remaining.reset();
+            strategy.reset();
+
+            int guesses = 0;
+            for (int row = 0; row < maximumRows; row++) {
+                int[] guess = index.getLetters(strategy.nextGuess(remaining, row, random));
+                int code = scorer.score(guess, answer);
+                if (code == solved) {
+                    guesses = row + 1;
+                    break;
+                }
+                remaining.narrow(guess, code);
+            }
+            distribution[guesses]++;
+        }
+
+        return distribution;
+    }
+
+    /**
+     * The Result class holds the outcome of a simulation run.
+     */
+    public static class Result {
+
+        /** The number of games solved in each number of guesses, with failures at index 0, initialized in the constructor. */
+        private final long[] distribution;
+
+        /** The wall-clock time of the run in nanoseconds, initialized in the constructor. */
+        private final long elapsedNanos;
+
+        /**
+         * Constructs a Result.
+         *
+         * @param distribution The number of games solved in each number of guesses, with failures at index 0.
+         * @param elapsedNanos The wall-clock time of the run in nanoseconds.
+         */
+        private Result(long[] distribution, long elapsedNanos) {
+            this.distribution = distribution;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the number of games solved in a number of guesses.
+         *
+         * @param guesses The number of guesses, from 1 to the maximum number of rows.
+         * @return The number of games solved in exactly that many guesses.
+         */
+        public long getSolvedIn(int guesses) {
+            return distribution[guesses];
+        }
+
+        /**
+         * Gets the number of games that were not solved.
+         *
+         * @return The number of failed games.
+         */
+        public long getFailures() {
+            return distribution[0];
+        }
+
+        /**
+         * Gets the total number of games played.
+         *
+         * @return The number of games.
+         */
+        public long getGames() {
+            long games = 0;
+            for (long count : distribution) {
+                games += count;
+            }
+            return games;
+        }
+
+        /**
+         * Gets the fraction of games that were not solved.
+         *
+         * @return The failure rate, from 0 to 1.
+         */
+        public double getFailureRate() {
+            long games = getGames();
+            return games == 0 ? 0 : (double) getFailures() / games;
+        }
+
+        /**
+         * Gets the number of games played per second of wall-clock time.
+         *
+         * @return The throughput of the run.
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : getGames() * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Saves a game in progress as a compact binary snapshot and restores it.
+ *
+ * A snapshot is at most 48 bytes for a five-letter, six-row game:
+ *
+ * <pre>
+ * version          1 byte
+ * dictionary hash  4 bytes, the low half of FeedbackMatrix.hash of the word list
+ * answer index     4 bytes, the index of the answer in the word list
+ * elapsed time     4 bytes, the milliseconds spent on the game so far
+ * cursor           1 byte, submitted rows in the high nibble, typed letters in the low nibble
+ * submitted rows   5 bytes each: the letters packed 5 bits apiece, then the feedback code
+ * typed letters    4 bytes, the letters of the current row packed 5 bits apiece, if any
+ * </pre>
+ *
+ * Letters are stored as 1 to 26 for A to Z and 27 for an apostrophe. A snapshot is
+ * restored by replaying its rows through the model, so the remaining candidates are
+ * rebuilt as well; a row whose replayed feedback differs from the stored code means
+ * the snapshot does not belong to this word list and is rejected. The replay does not
+ * record the game or its guesses in the Metrics, the EventLog or flight events again,
+ * and the game's timer resumes from the saved elapsed time.
+ */
+public final class GameSnapshot {
+
+    /** The version of the snapshot layout. */
+    private static final int VERSION = 2;
+
+    /** The size of the fixed part of a snapshot in bytes. */
+    private static final int HEADER_SIZE = 14;
+
+    /** The size of a submitted row in bytes. */
+    private static final int ROW_SIZE = 5;
+
+    /** The code of an apostrophe, the only letter outside A to Z in the word list. */
+    private static final int APOSTROPHE = 27;
+
+    /** The most recently hashed word list and its hash, shared by every snapshot. */
+    private static volatile HashedWordList hashed;
+
+    /**
+     * Prevents instantiation; the class only has static methods.
+     */
+    private GameSnapshot() {
+    }
+
+    /**
+     * Returns the default location of the desktop game snapshot, next to the statistics
+     * log in the Wordle folder of the user's home directory.
+     *
+     * @return The path of the game snapshot file.
+     */
+    public static Path getDefaultPath() {
+        return Paths.get(System.getProperty("user.home"), "Wordle", "game.snapshot");
+    }
+
+    /**
+     * Saves the game of a model.
+     *
+     * @param model The model, whose word list must be loaded.
+     * @return The snapshot.
+     * @throws IllegalStateException If the word list has not been loaded.
+     * @throws IllegalArgumentException If a row has a letter that cannot be stored.
+     */
+    public static byte[] save(WordleModel model) {
+        List<String> wordList = model.getWordList();
+        if (wordList == null) {
+            throw new IllegalStateException("The word list has not been loaded");
+        }
+
+        int rows = model.getCurrentRowNumber() + 1;
+        int typed = model.getCurrentColumn() + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + rows * ROW_SIZE + (typed > 0 ? 4 : 0));
+        buffer.put((byte) VERSION);
+        buffer.putInt((int) hash(wordList));
+        buffer.putInt(model.getCurrentWordIndex());
+        buffer.putInt((int) Math.min(model.getElapsedMillis(), Integer.MAX_VALUE));
+        buffer.put((byte) (rows << 4 | typed));
+        for (int row = 0; row < rows; row++) {
+            buffer.putInt(packLetters(model, row, model.getColumnCount()));
+            buffer.put((byte) model.getRowCode(row));
+        }
+        if (typed > 0) {
+            buffer.putInt(packLetters(model, rows, typed));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a game into a model, replacing the game it is playing. A snapshot whose
+     * header is rejected leaves the model untouched; one rejected while its rows are
+     * replayed leaves the model with a new game.
+     *
+     * @param snapshot The snapshot.
+     * @param model The model, whose word list must be loaded.
+     * @return True if the game was restored; false if the snapshot has another version,
+     *         belongs to another word list or is damaged.
+     */
+    public static boolean restore(byte[] snapshot, WordleModel model) {
+        List<String> wordList = model.getWordList();
+        if (wordList == null || snapshot.length < HEADER_SIZE) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        if (buffer.get() != VERSION) {
+            return false;
+        }
+        int hash = buffer.getInt();
+        int answer = buffer.getInt();
+        int elapsedMillis = buffer.getInt();
+        int cursor = buffer.get() & 0xff;
+        int rows = cursor >>> 4;
+        int typed = cursor & 0xf;
+        int columnCount = model.getColumnCount();
+        if (hash != (int) hash(wordList) || answer < 0 || answer >= wordList.size() || elapsedMillis < 0
+                || rows > model.getMaximumRows() || typed > (rows < model.getMaximumRows() ? columnCount : 0)
+                || snapshot.length != HEADER_SIZE + rows * ROW_SIZE + (typed > 0 ? 4 : 0)) {
+            return false;
+        }
+
+        int[] letters = new int[rows + 1];
+        int[] codes = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            letters[row] = buffer.getInt();
+            codes[row] = buffer.get() & 0xff;
+        }
+        if (typed > 0) {
+            letters[rows] = buffer.getInt();
+        }
+
+        model.initialize();
+        model.setCurrentWord(answer);
+        for (int row = 0; row <= rows; row++) {
+            int count = row < rows ? columnCount : typed;
+            for (int column = 0; column < count; column++) {
+                int letter = letters[row] >>> (column * 5) & 0x1f;
+                if (letter == 0 || letter > APOSTROPHE) {
+                    model.initialize();
+                    return false;
+                }
+                model.replayColumn(letter == APOSTROPHE ? '\'' : (char) ('A' + letter - 1));
+            }
+            if (row < rows) {
+                model.replayRow();
+                if (model.getRowCode(row) != codes[row]) {
+                    model.initialize();
+                    return false;
+                }
+            }
+        }
+        if (rows > 0 || typed > 0) {
+            model.resumeTimer(elapsedMillis);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file The snapshot file.
+     * @return The snapshot, or null if the file does not exist.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    public static byte[] read(Path file) throws IOException {
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot file. The file is written next to its final location and moved
+     * into place so a reader never sees a partial snapshot.
+     *
+     * @param file The snapshot file.
+     * @param snapshot The snapshot.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, byte[] snapshot) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "game", ".tmp");
+        try {
+            Files.write(temporary, snapshot);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Packs the letters of a row of the grid 5 bits apiece, the first letter lowest.
+     *
+     * @param model The model.
+     * @param row The row of the grid.
+     * @param count The number of letters to pack.
+     * @return The packed letters.
+     * @throws IllegalArgumentException If a letter cannot be stored.
+     */
+    private static int packLetters(WordleModel model, int row, int count) {
+        int packed = 0;
+        for (int column = 0; column < count; column++) {
+            char c = model.getLetter(row, column);
+            int letter;
+            if (c == '\'') {
+                letter = APOSTROPHE;
+            } else if (FeedbackScorer.getLetterIndex(c) < 26) {
+                letter = FeedbackScorer.getLetterIndex(c) + 1;
+            } else {
+                throw new IllegalArgumentException("Cannot save the letter " + c);
+            }
+            packed |= letter << (column * 5);
+        }
+        return packed;
+    }
+
+    /**
+     * Gets the hash of a word list, reusing the last one computed when the same list
+     * is saved or restored again.
+     *
+     * @param wordList The word list.
+     * @return The hash of the word list.
+     */
+    private static long hash(List<String> wordList) {
+        HashedWordList hashed = GameSnapshot.hashed;
+        if (hashed == null || hashed.wordList != wordList) {
+            hashed = new HashedWordList(wordList, FeedbackMatrix.hash(wordList));
+            GameSnapshot.hashed = hashed;
+        }
+        return hashed.hash;
+    }
+
+    /**
+     * The HashedWordList class pairs a word list with its hash, so both are published together.
+     */
+    private static final class HashedWordList {
+
+        /** The word list, initialized in the constructor. */
+        private final List<String> wordList;
+
+        /** The hash of the word list, initialized in the constructor. */
+        private final long hash;
+
+        /**
+         * Constructs a HashedWordList.
+         *
+         * @param wordList The word list.
+         * @param hash The hash of the word list.
+         */
+        private HashedWordList(List<String> wordList, long hash) {
+            this.wordList = wordList;
+            this.hash = hash;
+        }
+    }
+}
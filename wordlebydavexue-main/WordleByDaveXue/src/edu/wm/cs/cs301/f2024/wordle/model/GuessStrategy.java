@@ -0,0 +1,29 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * A GuessStrategy picks the next guess of a simulated game from the answers that are still
+ * consistent with the feedback so far.
+ *
+ * The simulator creates one strategy per thread and reuses it for every game that thread
+ * plays, so implementations may keep scratch state but should not allocate per guess.
+ */
+public interface GuessStrategy {
+
+    /**
+     * Prepares the strategy for a new game. The default does nothing.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Picks the next guess.
+     *
+     * @param remaining The answers still consistent with every row so far.
+     * @param row The row being guessed, starting at 0.
+     * @param random The random generator of the simulating thread.
+     * @return The word index of the guess.
+     */
+    int nextGuess(CandidateSet remaining, int row, SplittableRandom random);
+}
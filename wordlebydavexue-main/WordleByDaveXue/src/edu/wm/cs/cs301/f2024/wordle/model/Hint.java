@@ -0,0 +1,57 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+/**
+ * Represents one suggested guess, with the information it is expected to give about the
+ * remaining answers.
+ */
+public class Hint {
+
+    /** The suggested word, initialized by the constructor. */
+    private final String word;
+
+    /** The expected information of the guess in bits, initialized by the constructor. */
+    private final double entropy;
+
+    /** Whether the suggested word is itself one of the remaining answers, initialized by the constructor. */
+    private final boolean candidate;
+
+    /**
+     * Constructs a Hint for a suggested word.
+     *
+     * @param word The suggested word.
+     * @param entropy The expected information of the guess in bits.
+     * @param candidate Whether the word is one of the remaining answers.
+     */
+    public Hint(String word, double entropy, boolean candidate) {
+        this.word = word;
+        this.entropy = entropy;
+        this.candidate = candidate;
+    }
+
+    /**
+     * Returns the suggested word.
+     *
+     * @return The suggested word.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Returns the expected information of the guess.
+     *
+     * @return The expected entropy in bits.
+     */
+    public double getEntropy() {
+        return entropy;
+    }
+
+    /**
+     * Returns whether the suggested word could be the answer.
+     *
+     * @return True if the word is one of the remaining answers; false otherwise.
+     */
+    public boolean isCandidate() {
+        return candidate;
+    }
+}
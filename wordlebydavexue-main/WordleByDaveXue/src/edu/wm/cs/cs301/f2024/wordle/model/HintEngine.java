@@ -0,0 +1,175 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Ranks every word of a word list as a guess by the information it is expected to give
+ * about the remaining answers.
+ *
+ * For each guess, the remaining answers are bucketed by the feedback code the guess would
+ * produce against them, read from the feedback matrix, and the entropy of that distribution
+ * is the expected number of bits the guess reveals. The guesses are split across the common
+ * fork/join pool; each leaf task reuses one histogram for all of its guesses.
+ */
+public class HintEngine {
+
+    /** The number of guesses a leaf task ranks without splitting further. */
+    private static final int LEAF_SIZE = 64;
+
+    /** The feedback of every guess against every answer, initialized by the constructor. */
+    private final FeedbackMatrix matrix;
+
+    /** The word list the matrix was computed for, initialized by the constructor. */
+    private final List<String> words;
+
+    /**
+     * Constructs a HintEngine over a word list and its feedback matrix.
+     *
+     * @param words The word list.
+     * @param matrix The feedback matrix computed for the word list.
+     */
+    public HintEngine(List<String> words, FeedbackMatrix matrix) {
+        this.words = words;
+        this.matrix = matrix;
+    }
+
+    /**
+     * Ranks every word as a guess against the remaining answers and returns the best ones.
+     * Ties are broken in favor of words that could themselves be the answer.
+     *
+     * @param answers The word indexes of the remaining answers.
+     * @param count The number of suggestions to return.
+     * @param cancelled Checked regularly; when it returns true the ranking stops.
+     * @return Up to count suggestions, best first.
+     * @throws CancellationException If the ranking was cancelled.
+     */
+    public List<Hint> rank(int[] answers, int count, BooleanSupplier cancelled) {
+        double[] entropies = new double[matrix.getWordCount()];
+        new RankTask(answers, entropies, cancelled, 0, entropies.length).invoke();
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+
+        boolean[] candidate = new boolean[entropies.length];
+        for (int answer : answers) {
+            candidate[answer] = true;
+        }
+
+        int[] best = new int[Math.min(count, entropies.length)];
+        int size = 0;
+        for (int guess = 0; guess < entropies.length; guess++) {
+            int position = size;
+            while (position > 0 && isBetter(guess, best[position - 1], entropies, candidate)) {
+                position--;
+            }
+            if (position < best.length) {
+                int last = Math.min(size, best.length - 1);
+                System.arraycopy(best, position, best, position + 1, last - position);
+                best[position] = guess;
+                size = Math.min(size + 1, best.length);
+            }
+        }
+
+        List<Hint> hints = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            int guess = best[index];
+            hints.add(new Hint(words.get(guess), entropies[guess], candidate[guess]));
+        }
+        return hints;
+    }
+
+    /**
+     * Compares two guesses by entropy, preferring candidates when the entropies are equal.
+     *
+     * @param guess The guess being placed.
+     * @param other The guess already placed.
+     * @param entropies The entropy of every guess.
+     * @param candidate Whether every word is a remaining answer.
+     * @return True if guess ranks above other.
+     */
+    private static boolean isBetter(int guess, int other, double[] entropies, boolean[] candidate) {
+        if (entropies[guess] != entropies[other]) {
+            return entropies[guess] > entropies[other];
+        }
+        return candidate[guess] && !candidate[other];
+    }
+
+    /**
+     * The RankTask class computes the entropy of a range of guesses, splitting the range
+     * in half until it is small enough to compute directly.
+     */
+    private class RankTask extends RecursiveAction {
+        /** Serialization ID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The word indexes of the remaining answers, initialized in the constructor. */
+        private final int[] answers;
+
+        /** The entropy of every guess, filled in by the leaves, initialized in the constructor. */
+        private final double[] entropies;
+
+        /** Returns true once the ranking has been cancelled, initialized in the constructor. */
+        private final BooleanSupplier cancelled;
+
+        /** The first guess of the range, initialized in the constructor. */
+        private final int from;
+
+        /** One past the last guess of the range, initialized in the constructor. */
+        private final int to;
+
+        /**
+         * Constructs a RankTask for a range of guesses.
+         *
+         * @param answers The word indexes of the remaining answers.
+         * @param entropies The entropy of every guess.
+         * @param cancelled Returns true once the ranking has been cancelled.
+         * @param from The first guess of the range.
+         * @param to One past the last guess of the range.
+         */
+        private RankTask(int[] answers, double[] entropies, BooleanSupplier cancelled, int from, int to) {
+            this.answers = answers;
+            this.entropies = entropies;
+            this.cancelled = cancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Splits the range, or computes the entropy of each guess in it.
+         */
+        @Override
+        protected void compute() {
+            if (cancelled.getAsBoolean()) {
+                return;
+            }
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RankTask(answers, entropies, cancelled, from, middle),
+                        new RankTask(answers, entropies, cancelled, middle, to));
+                return;
+            }
+
+            int[] buckets = new int[FeedbackScorer.CODE_COUNT];
+            double total = answers.length;
+            for (int guess = from; guess < to; guess++) {
+                for (int answer : answers) {
+                    buckets[matrix.get(guess, answer)]++;
+                }
+
+                double sum = 0;
+                for (int code = 0; code < buckets.length; code++) {
+                    int size = buckets[code];
+                    if (size > 0) {
+                        sum += size * Math.log(size);
+                        buckets[code] = 0;
+                    }
+                }
+                entropies[guess] = total == 0 ? 0 : (Math.log(total) - sum / total) / Math.log(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.nio.file.Path;
+
+/**
+ * The text formats the game history is exported to and imported from, one game per line.
+ *
+ * <pre>
+ * CSV          timestamp,answer,guesses,won,solveSeconds,history
+ *              1729150000000,1234,4,true,95,false
+ * JSON_LINES   {"timestamp":1729150000000,"answer":1234,"guesses":4,"won":true,"solveSeconds":95,"history":false}
+ * </pre>
+ *
+ * The timestamp is in milliseconds since the epoch and 0 if unknown, the answer is the
+ * index of the answer in the word list and -1 if unknown, and the solve time is -1 if
+ * unknown. History is true for a game won that only counts as words guessed, such as
+ * one migrated from statistics.log; it may be left out, and CSV lines with five fields
+ * from before it was added are still read. Lines are formatted into a builder the
+ * caller reuses and parsed by scanning for the separators, without regular expressions,
+ * so a history of millions of games moves at the speed of the disk.
+ */
+public enum HistoryFormat {
+
+    /** Comma-separated values with a header line. */
+    CSV {
+        @Override
+        String getHeader() {
+            return "timestamp,answer,guesses,won,solveSeconds,history";
+        }
+
+        @Override
+        void format(GameRecord game, StringBuilder line) {
+            line.append(game.getTimestamp()).append(',')
+                    .append(game.getAnswerIndex()).append(',')
+                    .append(game.getGuesses()).append(',')
+                    .append(game.isWon()).append(',')
+                    .append(game.getSolveSeconds()).append(',')
+                    .append(game.isHistory());
+        }
+
+        @Override
+        GameRecord parse(String line) {
+            if (line.isEmpty() || !isNumberStart(line.charAt(0))) {
+                // the header, or a blank line
+                return null;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 5 && fields.length != 6) {
+                throw new IllegalArgumentException("Expected 5 or 6 fields: " + line);
+            }
+            return toRecord(Long.parseLong(fields[0].trim()), Integer.parseInt(fields[1].trim()),
+                    Integer.parseInt(fields[2].trim()), parseBoolean(fields[3].trim(), line),
+                    Integer.parseInt(fields[4].trim()), fields.length == 6 && parseBoolean(fields[5].trim(), line));
+        }
+    },
+
+    /** One JSON object per line, with no header. */
+    JSON_LINES {
+        @Override
+        String getHeader() {
+            return null;
+        }
+
+        @Override
+        void format(GameRecord game, StringBuilder line) {
+            line.append("{\"timestamp\":").append(game.getTimestamp())
+                    .append(",\"answer\":").append(game.getAnswerIndex())
+                    .append(",\"guesses\":").append(game.getGuesses())
+                    .append(",\"won\":").append(game.isWon())
+                    .append(",\"solveSeconds\":").append(game.getSolveSeconds())
+                    .append(",\"history\":").append(game.isHistory()).append('}');
+        }
+
+        @Override
+        GameRecord parse(String line) {
+            if (line.isBlank()) {
+                return null;
+            }
+            return toRecord(Long.parseLong(getValue(line, "timestamp", "0")),
+                    Integer.parseInt(getValue(line, "answer", "-1")),
+                    Integer.parseInt(getValue(line, "guesses", null)),
+                    parseBoolean(getValue(line, "won", null), line),
+                    Integer.parseInt(getValue(line, "solveSeconds", "-1")),
+                    parseBoolean(getValue(line, "history", "false"), line));
+        }
+    };
+
+    /**
+     * Gets the header line of the format.
+     *
+     * @return The header line, or null if the format has none.
+     */
+    abstract String getHeader();
+
+    /**
+     * Formats a game as a line, without the line separator.
+     *
+     * @param game The game.
+     * @param line The builder the line is appended to.
+     */
+    abstract void format(GameRecord game, StringBuilder line);
+
+    /**
+     * Parses a line as a game.
+     *
+     * @param line The line, without the line separator.
+     * @return The game, or null if the line is a header or blank.
+     * @throws IllegalArgumentException If the line is not a game in this format.
+     */
+    abstract GameRecord parse(String line);
+
+    /**
+     * Picks the format of a file by its extension: .jsonl or .ndjson for JSON Lines,
+     * anything else for CSV.
+     *
+     * @param file The file.
+     * @return The format of the file.
+     */
+    public static HistoryFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON_LINES : CSV;
+    }
+
+    /**
+     * Creates a game from parsed fields.
+     *
+     * @param timestamp The time the game finished in milliseconds since the epoch, or 0 if unknown.
+     * @param answerIndex The index of the answer, or -1 if unknown.
+     * @param guesses The number of rows submitted.
+     * @param won Whether the game was won.
+     * @param solveSeconds The seconds the game took, or -1 if unknown.
+     * @param history Whether the game only counts as words guessed.
+     * @return The game.
+     * @throws IllegalArgumentException If a history game was not won.
+     */
+    private static GameRecord toRecord(long timestamp, int answerIndex, int guesses, boolean won, int solveSeconds,
+            boolean history) {
+        if (history && !won) {
+            throw new IllegalArgumentException("A history game must be won");
+        }
+        return new GameRecord(timestamp, answerIndex, guesses,
+                (won ? GameRecord.WON : 0) | (history ? GameRecord.HISTORY : 0), solveSeconds);
+    }
+
+    /**
+     * Checks whether a character can start a number.
+     *
+     * @param c The character.
+     * @return True for a digit or a minus sign.
+     */
+    private static boolean isNumberStart(char c) {
+        return (c >= '0' && c <= '9') || c == '-';
+    }
+
+    /**
+     * Parses true or false.
+     *
+     * @param value The text.
+     * @param line The line, for the error message.
+     * @return The boolean.
+     * @throws IllegalArgumentException If the text is neither true nor false.
+     */
+    private static boolean parseBoolean(String value, String line) {
+        if (value.equals("true")) {
+            return true;
+        } else if (value.equals("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Expected true or false: " + line);
+    }
+
+    /**
+     * Gets the number or boolean value of a key of a flat JSON object.
+     *
+     * @param line The JSON object.
+     * @param key The key.
+     * @param missing The value if the key is missing, or null if it is required.
+     * @return The value as text.
+     * @throws IllegalArgumentException If a required key is missing.
+     */
+    private static String getValue(String line, String key, String missing) {
+        int start = line.indexOf("\"" + key + "\"");
+        if (start < 0) {
+            if (missing == null) {
+                throw new IllegalArgumentException("Missing " + key + ": " + line);
+            }
+            return missing;
+        }
+        start = line.indexOf(':', start + key.length() + 2) + 1;
+        int end = start;
+        while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '}') {
+            end++;
+        }
+        return line.substring(start, end).trim();
+    }
+}
@@ -0,0 +1,241 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.beans.ConstructorProperties;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of latencies in nanoseconds with a relative error of about
+ * 3%, in the layout of an HDR histogram.
+ *
+ * Latencies under SUB_BUCKETS nanoseconds have a bucket each; above that, every power
+ * of two is split into SUB_BUCKETS / 2 equal buckets, so the bucket of a latency is
+ * found from its leading zeros and a shift and is at most 1 / 16 of the latency wide.
+ * Recording increments one atomic counter and two striped adders and allocates
+ * nothing; quantiles are read by a scan of the fixed array of counters.
+ */
+public final class LatencyHistogram {
+
+    /** The number of buckets of the first power of two; their half splits every larger power. */
+    private static final int SUB_BUCKETS = 32;
+
+    /** The log2 of SUB_BUCKETS / 2. */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** The number of buckets, enough for any positive long. */
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS - 1) * (SUB_BUCKETS / 2);
+
+    /** The number of latencies in each bucket, initialized in the constructor. */
+    private final AtomicLongArray counts;
+
+    /** The number of latencies recorded. */
+    private final LongAdder count = new LongAdder();
+
+    /** The sum of the latencies recorded. */
+    private final LongAdder sum = new LongAdder();
+
+    /** The largest latency recorded. */
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Records a latency. Negative latencies count as 0.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(getBucket(value));
+        count.increment();
+        sum.add(value);
+        maximum.accumulate(value);
+    }
+
+    /**
+     * Gets the bucket of a latency.
+     *
+     * @param nanos The latency in nanoseconds, from 0.
+     * @return The index of its bucket.
+     */
+    static int getBucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift - 1) * (SUB_BUCKETS / 2) + (int) (nanos >>> shift) - SUB_BUCKETS / 2;
+    }
+
+    /**
+     * Gets the middle of a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The latency in the middle of the bucket, in nanoseconds.
+     */
+    static double getMiddle(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / (SUB_BUCKETS / 2) + 1;
+        long low = (long) ((bucket - SUB_BUCKETS) % (SUB_BUCKETS / 2) + SUB_BUCKETS / 2) << shift;
+        return low + ((1L << shift) - 1) / 2.0;
+    }
+
+    /**
+     * Takes a snapshot of the histogram. Latencies recorded during the snapshot may be
+     * counted in some of its numbers and not others.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot getSnapshot() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+            total += snapshot[bucket];
+        }
+        double mean = total == 0 ? 0 : (double) sum.sum() / count.sum();
+        return new Snapshot(total, toMillis(mean), toMillis(getQuantile(snapshot, total, 0.5)),
+                toMillis(getQuantile(snapshot, total, 0.9)), toMillis(getQuantile(snapshot, total, 0.99)),
+                toMillis(maximum.get()));
+    }
+
+    /**
+     * Estimates a quantile from counts of the buckets.
+     *
+     * @param snapshot The counts.
+     * @param total The sum of the counts.
+     * @param quantile The quantile, from 0 to 1.
+     * @return The middle of the bucket of the quantile in nanoseconds, or 0 if the counts are empty.
+     */
+    private static double getQuantile(long[] snapshot, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return getMiddle(bucket);
+            }
+        }
+        return getMiddle(BUCKETS - 1);
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos The nanoseconds.
+     * @return The milliseconds.
+     */
+    private static double toMillis(double nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * The Snapshot class holds the summary of a histogram at one moment, in milliseconds;
+     * it never changes. JMX shows it as a composite of its getters.
+     */
+    public static final class Snapshot {
+
+        /** The number of latencies, initialized in the constructor. */
+        private final long count;
+
+        /** The mean latency, initialized in the constructor. */
+        private final double meanMillis;
+
+        /** The median latency, initialized in the constructor. */
+        private final double p50Millis;
+
+        /** The 90th percentile latency, initialized in the constructor. */
+        private final double p90Millis;
+
+        /** The 99th percentile latency, initialized in the constructor. */
+        private final double p99Millis;
+
+        /** The largest latency, initialized in the constructor. */
+        private final double maxMillis;
+
+        /**
+         * Constructs a Snapshot.
+         *
+         * @param count The number of latencies.
+         * @param meanMillis The mean latency.
+         * @param p50Millis The median latency.
+         * @param p90Millis The 90th percentile latency.
+         * @param p99Millis The 99th percentile latency.
+         * @param maxMillis The largest latency.
+         */
+        @ConstructorProperties({"count", "meanMillis", "p50Millis", "p90Millis", "p99Millis", "maxMillis"})
+        public Snapshot(long count, double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+                double maxMillis) {
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        /**
+         * Gets the number of latencies.
+         *
+         * @return The number of latencies.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean latency.
+         *
+         * @return The mean latency in milliseconds, or 0 if there are none.
+         */
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        /**
+         * Gets the median latency, within about 3%.
+         *
+         * @return The median latency in milliseconds, or 0 if there are none.
+         */
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        /**
+         * Gets the 90th percentile latency, within about 3%.
+         *
+         * @return The 90th percentile latency in milliseconds, or 0 if there are none.
+         */
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        /**
+         * Gets the 99th percentile latency, within about 3%.
+         *
+         * @return The 99th percentile latency in milliseconds, or 0 if there are none.
+         */
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        /**
+         * Gets the largest latency.
+         *
+         * @return The largest latency in milliseconds, or 0 if there are none.
+         */
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The counters, gauges and latency histograms of the running game, published over
+ * JMX as the MXBean edu.wm.cs.cs301.f2024.wordle:type=Metrics so JConsole or a JMX
+ * scraper can watch an instance.
+ *
+ * Every record method is thread-safe and allocation-free: counters are striped
+ * LongAdders, gauges are volatile fields, latencies go to LatencyHistograms, and the
+ * guess rate is counted in a ring of per-second slots. The work of turning them into
+ * numbers is done when JMX reads an attribute.
+ */
+public final class Metrics implements MetricsMXBean {
+
+    /** The name the default metrics are registered under. */
+    public static final String OBJECT_NAME = "edu.wm.cs.cs301.f2024.wordle:type=Metrics";
+
+    /** The number of complete seconds getGuessesPerSecond averages over. */
+    private static final int RATE_SECONDS = 10;
+
+    /** The number of per-second slots of the guess rate, a power of two above RATE_SECONDS. */
+    private static final int RATE_SLOTS = 16;
+
+    /** The number of nanoseconds in a second. */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** The number of games started. */
+    private final LongAdder gamesStarted = new LongAdder();
+
+    /** The number of games won. */
+    private final LongAdder gamesWon = new LongAdder();
+
+    /** The number of games lost. */
+    private final LongAdder gamesLost = new LongAdder();
+
+    /** The number of guesses scored. */
+    private final LongAdder guesses = new LongAdder();
+
+    /** The second each slot of guessCounts counts, initialized in the constructor. */
+    private final AtomicLongArray guessSeconds;
+
+    /** The number of guesses scored in the second of each slot, initialized in the constructor. */
+    private final AtomicLongArray guessCounts;
+
+    /** The time of the earliest key not yet painted, or 0 if every key is painted. */
+    private final AtomicLong keystrokeNanos = new AtomicLong();
+
+    /** The latencies from a key press to the repaint that shows it. */
+    private final LatencyHistogram keystrokeLatency = new LatencyHistogram();
+
+    /** The latencies of the statistics writes. */
+    private final LatencyHistogram statisticsWriteLatency = new LatencyHistogram();
+
+    /** The number of words in the word list last loaded. */
+    private volatile int wordListSize;
+
+    /** The time the word list last loaded took, in milliseconds. */
+    private volatile long wordListLoadMillis;
+
+    /** The size of the statistics files after the last write, in bytes. */
+    private volatile long statisticsFileBytes;
+
+    /**
+     * Constructs a Metrics with every number at 0.
+     */
+    Metrics() {
+        this.guessSeconds = new AtomicLongArray(RATE_SLOTS);
+        this.guessCounts = new AtomicLongArray(RATE_SLOTS);
+        for (int slot = 0; slot < RATE_SLOTS; slot++) {
+            guessSeconds.set(slot, -1);
+        }
+    }
+
+    /**
+     * Gets the metrics of the application, creating and registering them on first use.
+     *
+     * @return The metrics registered as OBJECT_NAME.
+     */
+    public static Metrics getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Counts a game started.
+     */
+    public void recordGameStarted() {
+        gamesStarted.increment();
+    }
+
+    /**
+     * Counts a game finished.
+     *
+     * @param won Whether the game was won.
+     */
+    public void recordGameFinished(boolean won) {
+        (won ? gamesWon : gamesLost).increment();
+    }
+
+    /**
+     * Counts a guess scored, in the total and in the slot of the current second. A
+     * thread that moves a slot to a new second may lose the guesses other threads count
+     * in it at the same moment, so the rate is approximate under contention.
+     */
+    public void recordGuess() {
+        guesses.increment();
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        int slot = (int) (second & (RATE_SLOTS - 1));
+        long slotSecond = guessSeconds.get(slot);
+        if (slotSecond != second && guessSeconds.compareAndSet(slot, slotSecond, second)) {
+            guessCounts.set(slot, 0);
+        }
+        guessCounts.incrementAndGet(slot);
+    }
+
+    /**
+     * Marks a key press, unless an earlier key is still waiting for its repaint.
+     */
+    public void recordKeystroke() {
+        keystrokeNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    /**
+     * Records the latency from the earliest key not yet painted to now, when the grid
+     * is painted.
+     */
+    public void recordRepaint() {
+        long start = keystrokeNanos.getAndSet(0);
+        if (start != 0) {
+            keystrokeLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Sets the gauges of the word list.
+     *
+     * @param words The number of words loaded.
+     * @param loadMillis The time the load took, in milliseconds.
+     */
+    public void recordWordListLoad(int words, long loadMillis) {
+        this.wordListSize = words;
+        this.wordListLoadMillis = loadMillis;
+    }
+
+    /**
+     * Records a write of the statistics.
+     *
+     * @param nanos The time the write took, in nanoseconds.
+     * @param fileBytes The size of the statistics files after the write, in bytes.
+     */
+    public void recordStatisticsWrite(long nanos, long fileBytes) {
+        statisticsWriteLatency.record(nanos);
+        this.statisticsFileBytes = fileBytes;
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGamesWon() {
+        return gamesWon.sum();
+    }
+
+    @Override
+    public long getGamesLost() {
+        return gamesLost.sum();
+    }
+
+    @Override
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    @Override
+    public double getGuessesPerSecond() {
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        long count = 0;
+        for (int slot = 0; slot < RATE_SLOTS; slot++) {
+            long slotSecond = guessSeconds.get(slot);
+            if (slotSecond < second && slotSecond >= second - RATE_SECONDS) {
+                count += guessCounts.get(slot);
+            }
+        }
+        return (double) count / RATE_SECONDS;
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getKeystrokeToRepaintLatency() {
+        return keystrokeLatency.getSnapshot();
+    }
+
+    @Override
+    public int getWordListSize() {
+        return wordListSize;
+    }
+
+    @Override
+    public long getWordListLoadMillis() {
+        return wordListLoadMillis;
+    }
+
+    @Override
+    public long getStatisticsFileBytes() {
+        return statisticsFileBytes;
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getStatisticsWriteLatency() {
+        return statisticsWriteLatency.getSnapshot();
+    }
+
+    /**
+     * The DefaultHolder class creates and registers the default metrics on first use.
+     */
+    private static final class DefaultHolder {
+
+        /** The metrics of the application. */
+        private static final Metrics DEFAULT = register(new Metrics());
+
+        /**
+         * Registers metrics with the platform MBean server. Metrics that cannot be
+         * registered are still recorded, and the failure is reported.
+         *
+         * @param metrics The metrics.
+         * @return The metrics.
+         */
+        private static Metrics register(Metrics metrics) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException | SecurityException e) {
+                System.err.println("Cannot register the metrics: " + e.getMessage());
+            }
+            return metrics;
+        }
+    }
+}
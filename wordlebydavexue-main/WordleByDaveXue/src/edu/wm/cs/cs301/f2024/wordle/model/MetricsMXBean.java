@@ -0,0 +1,78 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+/**
+ * The management interface of Metrics, the attributes JConsole or a JMX scraper reads
+ * under the name edu.wm.cs.cs301.f2024.wordle:type=Metrics.
+ */
+public interface MetricsMXBean {
+
+    /**
+     * Gets the number of games started, counted at the first letter typed.
+     *
+     * @return The number of games started.
+     */
+    long getGamesStarted();
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return The number of games won.
+     */
+    long getGamesWon();
+
+    /**
+     * Gets the number of games lost.
+     *
+     * @return The number of games lost.
+     */
+    long getGamesLost();
+
+    /**
+     * Gets the number of guesses scored.
+     *
+     * @return The number of guesses scored.
+     */
+    long getGuesses();
+
+    /**
+     * Gets the rate of guesses over the last complete seconds.
+     *
+     * @return The guesses per second.
+     */
+    double getGuessesPerSecond();
+
+    /**
+     * Gets the latency from a key press to the repaint of the grid that shows it.
+     *
+     * @return The latency summary.
+     */
+    LatencyHistogram.Snapshot getKeystrokeToRepaintLatency();
+
+    /**
+     * Gets the number of words in the word list last loaded.
+     *
+     * @return The number of words, or 0 before the word list is loaded.
+     */
+    int getWordListSize();
+
+    /**
+     * Gets the time the word list last loaded took.
+     *
+     * @return The load time in milliseconds, or 0 before the word list is loaded.
+     */
+    long getWordListLoadMillis();
+
+    /**
+     * Gets the size of the statistics journal and summary after the last write.
+     *
+     * @return The size in bytes, or 0 before the first write.
+     */
+    long getStatisticsFileBytes();
+
+    /**
+     * Gets the latency of the background writes of the statistics.
+     *
+     * @return The latency summary.
+     */
+    LatencyHistogram.Snapshot getStatisticsWriteLatency();
+}
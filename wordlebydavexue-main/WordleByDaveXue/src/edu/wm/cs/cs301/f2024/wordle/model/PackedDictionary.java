@@ -0,0 +1,347 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * The PackedDictionary class stores the word list resource in a precompiled binary form
+ * so the game does not have to parse the text file line by line on every start.
+ *
+ * The file starts with a header (magic number, format version, the length and modification
+ * time of the text source it was built from, the number of groups and a CRC32 checksum of
+ * everything after the header), followed by a table of groups and then the groups themselves.
+ * Each group holds every word of one length as fixed-width ASCII records, one after the other.
+ * The file is memory-mapped and words are decoded straight out of the mapping on demand.
+ */
+public class PackedDictionary {
+
+    /** The magic number at the start of every packed dictionary file ("WDCT"). */
+    private static final int MAGIC = 0x57444354;
+
+    /** The version of the file layout written by this class. */
+    private static final int VERSION = 1;
+
+    /** The size of the fixed header in bytes. */
+    private static final int HEADER_SIZE = 36;
+
+    /** The size of one entry in the group table in bytes (word length, word count, offset). */
+    private static final int GROUP_ENTRY_SIZE = 12;
+
+    /** The memory-mapped contents of the file, initialized in the constructor. */
+    private final MappedByteBuffer buffer;
+
+    /** The word length of each group, initialized in the constructor. */
+    private final int[] groupLengths;
+
+    /** The number of words in each group, initialized in the constructor. */
+    private final int[] groupCounts;
+
+    /** The file offset of the first record of each group, initialized in the constructor. */
+    private final int[] groupOffsets;
+
+    /**
+     * Constructs a PackedDictionary over an already validated mapping.
+     *
+     * @param buffer The memory-mapped file contents.
+     * @param groupCount The number of word length groups in the file.
+     */
+    private PackedDictionary(MappedByteBuffer buffer, int groupCount) {
+        this.buffer = buffer;
+        this.groupLengths = new int[groupCount];
+        this.groupCounts = new int[groupCount];
+        this.groupOffsets = new int[groupCount];
+
+        for (int group = 0; group < groupCount; group++) {
+            int entry = HEADER_SIZE + group * GROUP_ENTRY_SIZE;
+            groupLengths[group] = buffer.getInt(entry);
+            groupCounts[group] = buffer.getInt(entry + 4);
+            groupOffsets[group] = buffer.getInt(entry + 8);
+        }
+    }
+
+    /**
+     * Returns the default location of the packed dictionary, next to the statistics log
+     * in the Wordle folder of the user's home directory.
+     *
+     * @return The path of the packed dictionary file.
+     */
+    public static Path getDefaultPath() {
+        return Paths.get(System.getProperty("user.home"), "Wordle", "usa.dict");
+    }
+
+    /**
+     * Opens and memory-maps a packed dictionary file. The file is rejected if it is missing,
+     * was built from a different text source, has an unknown layout or fails its checksum.
+     *
+     * @param file The packed dictionary file.
+     * @param sourceLength The length in bytes of the text source the file must match.
+     * @param sourceModified The modification time of the text source the file must match.
+     * @return The opened dictionary, or null if the file is missing or stale.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    public static PackedDictionary open(Path file, long sourceLength, long sourceModified) throws IOException {
+        if (sourceLength < 0) {
+            return null;
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getLong(8) != sourceLength || buffer.getLong(16) != sourceModified) {
+            return null;
+        }
+
+        int groupCount = buffer.getInt(24);
+        if (groupCount < 0 || HEADER_SIZE + (long) groupCount * GROUP_ENTRY_SIZE > buffer.capacity()) {
+            return null;
+        }
+
+        ByteBuffer body = buffer.duplicate();
+        body.position(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if (crc.getValue() != buffer.getLong(28)) {
+            return null;
+        }
+
+        return new PackedDictionary(buffer, groupCount);
+    }
+
+    /**
+     * Writes a packed dictionary file containing the given words, grouped by length.
+     * The file is written next to its final location and moved into place so a reader
+     * never sees a partially written dictionary; the temporary file is deleted if the
+     * write or the move fails.
+     *
+     * @param file The packed dictionary file to write.
+     * @param words The words to store; every word must be ASCII.
+     * @param sourceLength The length in bytes of the text source the words were read from.
+     * @param sourceModified The modification time of the text source the words were read from.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, List<String> words, long sourceLength, long sourceModified) throws IOException {
+        TreeMap<Integer, List<String>> groups = new TreeMap<>();
+        for (String word : words) {
+            groups.computeIfAbsent(word.length(), length -> new ArrayList<>()).add(word);
+        }
+
+        int offset = HEADER_SIZE + groups.size() * GROUP_ENTRY_SIZE;
+        int size = offset;
+        for (List<String> group : groups.values()) {
+            size += group.size() * group.get(0).length();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(sourceLength);
+        buffer.putLong(sourceModified);
+        buffer.putInt(groups.size());
+        buffer.putLong(0L);
+
+        for (List<String> group : groups.values()) {
+            buffer.putInt(group.get(0).length());
+            buffer.putInt(group.size());
+            buffer.putInt(offset);
+            offset += group.size() * group.get(0).length();
+        }
+
+        for (List<String> group : groups.values()) {
+            for (String word : group) {
+                buffer.put(word.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+
+        buffer.position(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        buffer.putLong(28, crc.getValue());
+        buffer.rewind();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "usa", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads every non-empty, trimmed line of a word list text source.
+     *
+     * @param stream The text source; it is closed before this method returns.
+     * @return A List<String> containing every word of the source, in file order.
+     * @throws IOException If the source cannot be read.
+     */
+    public static List<String> readText(InputStream stream) throws IOException {
+        List<String> words = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII))) {
+            String line = reader.readLine();
+            while (line != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    words.add(line);
+                }
+                line = reader.readLine();
+            }
+        }
+
+        return words;
+    }
+
+    /**
+     * Gets the number of words of the given length.
+     *
+     * @param length The word length.
+     * @return The number of words of that length, or 0 if there are none.
+     */
+    public int getWordCount(int length) {
+        int group = findGroup(length);
+        return group < 0 ? 0 : groupCounts[group];
+    }
+
+    /**
+     * Gets the size of the dictionary file.
+     *
+     * @return The size of the mapped file in bytes.
+     */
+    public long getFileSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Gets the words of the given length as a read-only list backed by the mapped file.
+     * Each call to get decodes the word directly from its fixed-width record.
+     *
+     * @param length The word length.
+     * @return A List<String> containing the words of the given length, in file order.
+     */
+    public List<String> getWords(int length) {
+        int group = findGroup(length);
+        if (group < 0) {
+            return new ArrayList<>();
+        }
+        return new WordList(groupOffsets[group], groupCounts[group], length);
+    }
+
+    /**
+     * Finds the group holding words of the given length.
+     *
+     * @param length The word length.
+     * @return The group index, or -1 if the dictionary has no words of that length.
+     */
+    private int findGroup(int length) {
+        for (int group = 0; group < groupLengths.length; group++) {
+            if (groupLengths[group] == length) {
+                return group;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Packs a word list text file into a dictionary file at build time, so the first
+     * run of the game does not have to do it.
+     *
+     * @param args The text source and the packed dictionary file to write.
+     * @throws IOException If either file cannot be accessed.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PackedDictionary <usa.txt> <usa.dict>");
+            System.exit(1);
+        }
+
+        Path source = Paths.get(args[0]);
+        List<String> words = readText(Files.newInputStream(source));
+        write(Paths.get(args[1]), words, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+    }
+
+    /**
+     * The WordList class is a read-only view of one group of fixed-width records.
+     */
+    private class WordList extends AbstractList<String> implements RandomAccess {
+
+        /** The file offset of the first record, initialized in the constructor. */
+        private final int offset;
+
+        /** The number of records in the group, initialized in the constructor. */
+        private final int count;
+
+        /** The width of each record, initialized in the constructor. */
+        private final int length;
+
+        /**
+         * Constructs a WordList over the records of one group.
+         *
+         * @param offset The file offset of the first record.
+         * @param count The number of records.
+         * @param length The width of each record.
+         */
+        private WordList(int offset, int count, int length) {
+            this.offset = offset;
+            this.count = count;
+            this.length = length;
+        }
+
+        /**
+         * Decodes the word stored in the given record.
+         *
+         * @param index The record index.
+         * @return The word stored in the record.
+         */
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(offset + index * length, bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Returns the number of words in the group.
+         *
+         * @return The number of words.
+         */
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
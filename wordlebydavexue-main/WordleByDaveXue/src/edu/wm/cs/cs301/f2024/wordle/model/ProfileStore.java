@@ -0,0 +1,591 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps the statistics of many players, keyed by player ID, for kiosks and servers.
+ *
+ * The summaries live in profiles.store, a memory-mapped file of fixed size:
+ *
+ * <pre>
+ * header   64 bytes: magic, version, maximum profiles, index capacity, profile count
+ * index    8 bytes per position: the hash of a player ID and its slot plus one, 0 if empty
+ * records  144 bytes per slot: the counters, the streaks, the distribution, the newest
+ *          history entry and the player ID
+ * </pre>
+ *
+ * A player's record is found through the open-addressing index with linear probing,
+ * so loading a profile reads a few index positions and one record, however many
+ * profiles there are. The games themselves are appended to profiles.history, each
+ * entry pointing to the player's previous one, so a player's history is read newest
+ * first without scanning anyone else's.
+ *
+ * Writers take turns through a lock. Readers never lock: a record is guarded by a
+ * sequence number that is odd while the record is written, and a reader retries
+ * until it sees the same even number before and after reading; an index position is
+ * published only after its record is complete. Both files survive the process
+ * crashing; flush and close also force them to the disk. A record left odd by a
+ * crash is made even again when the store is opened.
+ */
+public final class ProfileStore implements Closeable {
+
+    /** The magic number at the start of the store, "WPST". */
+    private static final int MAGIC = 0x57505354;
+
+    /** The magic number at the start of the history, "WPHS". */
+    private static final int HISTORY_MAGIC = 0x57504853;
+
+    /** The version of the file layouts. */
+    private static final int VERSION = 1;
+
+    /** The size of the store header in bytes. */
+    private static final int HEADER_SIZE = 64;
+
+    /** The offset of the profile count in the store header. */
+    private static final int PROFILE_COUNT = 16;
+
+    /** The size of a record in bytes. */
+    private static final int RECORD_SIZE = 144;
+
+    /** The offset of the sequence number of a record, odd while the record is written. */
+    private static final int SEQUENCE = 0;
+
+    /** The number of times a reader spins on a record being written before it yields. */
+    private static final int READ_SPINS = 64;
+
+    /** How long a reader waits for a record being written before it gives up. */
+    private static final long READ_TIMEOUT_NANOS = 1_000_000_000L;
+
+    /** The offset of the current win streak in a record. */
+    private static final int CURRENT_STREAK = 4;
+
+    /** The offset of the longest win streak in a record. */
+    private static final int LONGEST_STREAK = 8;
+
+    /** The offset of the number of games played in a record. */
+    private static final int GAMES_PLAYED = 12;
+
+    /** The offset of the number of games won in a record. */
+    private static final int GAMES_WON = 16;
+
+    /** The offset of the number of words guessed in the last game won in a record. */
+    private static final int LAST_WORDS_GUESSED = 20;
+
+    /** The offset of the newest history entry plus one, 0 if none, in a record. */
+    private static final int HISTORY_HEAD = 24;
+
+    /** The offset of the distribution of a record, one int per number of words guessed. */
+    private static final int HISTOGRAM = 32;
+
+    /** The offset of the length of the player ID in a record. */
+    private static final int ID_LENGTH = 96;
+
+    /** The offset of the player ID in a record, in UTF-8. */
+    private static final int ID = 97;
+
+    /** The number of counts in the distribution of a record. */
+    private static final int HISTOGRAM_SIZE = 16;
+
+    /** The longest player ID in UTF-8 bytes. */
+    public static final int MAXIMUM_ID_LENGTH = RECORD_SIZE - ID;
+
+    /** The size of the history header in bytes. */
+    private static final int HISTORY_HEADER_SIZE = 16;
+
+    /** The size of a history entry in bytes: the previous entry plus one, then the game. */
+    private static final int HISTORY_ENTRY_SIZE = 8 + GameRecord.SIZE;
+
+    /** Reads and writes ints of the mapped file with memory ordering. */
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    /** Reads and writes longs of the mapped file with memory ordering. */
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /** The mapped store, initialized in the constructor. */
+    private final MappedByteBuffer store;
+
+    /** The history file, initialized in the constructor. */
+    private final FileChannel history;
+
+    /** The maximum number of profiles, initialized in the constructor. */
+    private final int maximumProfiles;
+
+    /** The number of positions in the index, a power of two, initialized in the constructor. */
+    private final int indexCapacity;
+
+    /** The offset of the first record in the store, initialized in the constructor. */
+    private final int recordsOffset;
+
+    /** Lets one writer at a time change the store and the history, initialized in the constructor. */
+    private final ReentrantLock writeLock;
+
+    /** The number of entries in the history, guarded by the write lock, initialized in the constructor. */
+    private long historyEntries;
+
+    /**
+     * Constructs a ProfileStore over open files.
+     *
+     * @param store The mapped store, whose header has been checked.
+     * @param history The open history file.
+     * @param historyEntries The number of entries in the history.
+     */
+    private ProfileStore(MappedByteBuffer store, FileChannel history, long historyEntries) {
+        this.store = store;
+        this.history = history;
+        this.maximumProfiles = store.getInt(8);
+        this.indexCapacity = store.getInt(12);
+        this.recordsOffset = HEADER_SIZE + indexCapacity * 8;
+        this.writeLock = new ReentrantLock();
+        this.historyEntries = historyEntries;
+    }
+
+    /**
+     * Opens the store in a directory, creating it with room for a number of profiles if
+     * it does not exist yet. An existing store keeps the size it was created with.
+     *
+     * @param directory The directory of profiles.store and profiles.history.
+     * @param maximumProfiles The number of profiles a new store has room for.
+     * @return The open store.
+     * @throws IOException If the files cannot be opened or are not a profile store.
+     */
+    public static ProfileStore open(Path directory, int maximumProfiles) throws IOException {
+        Files.createDirectories(directory);
+        MappedByteBuffer store;
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("profiles.store").toFile(), "rw")) {
+            if (file.length() == 0) {
+                if (maximumProfiles < 1) {
+                    throw new IllegalArgumentException("Maximum profiles must be positive: " + maximumProfiles);
+                }
+                // keep the index at most three quarters full
+                int needed = maximumProfiles + maximumProfiles / 3 + 1;
+                int indexCapacity = 1 << (32 - Integer.numberOfLeadingZeros(needed - 1));
+                long size = HEADER_SIZE + indexCapacity * 8L + (long) maximumProfiles * RECORD_SIZE;
+                if (size > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many profiles: " + maximumProfiles);
+                }
+                file.setLength(size);
+                store = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+                store.putInt(4, VERSION).putInt(8, maximumProfiles).putInt(12, indexCapacity);
+                store.force();
+                store.putInt(0, MAGIC);
+            } else {
+                if (file.length() > Integer.MAX_VALUE) {
+                    throw new IOException("Not a profile store: " + directory);
+                }
+                store = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+                long size = HEADER_SIZE + store.getInt(12) * 8L + (long) store.getInt(8) * RECORD_SIZE;
+                if (store.getInt(0) != MAGIC || store.getInt(4) != VERSION || size != file.length()) {
+                    throw new IOException("Not a profile store: " + directory);
+                }
+                releaseRecords(store);
+            }
+        }
+
+        FileChannel history = FileChannel.open(directory.resolve("profiles.history"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new ProfileStore(store, history, openHistory(history));
+        } catch (IOException | RuntimeException e) {
+            history.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Makes the sequence number of every record even again, so readers do not wait for a
+     * writer that crashed halfway through a record. The counters of such a record may be
+     * partly updated; they are kept as they are. Called before anyone else uses the store.
+     *
+     * @param store The mapped store, whose header has been checked.
+     */
+    private static void releaseRecords(MappedByteBuffer store) {
+        int recordsOffset = HEADER_SIZE + store.getInt(12) * 8;
+        int count = Math.min(store.getInt(PROFILE_COUNT), store.getInt(8));
+        for (int slot = 0; slot < count; slot++) {
+            int record = recordsOffset + slot * RECORD_SIZE;
+            int sequence = store.getInt(record + SEQUENCE);
+            if ((sequence & 1) != 0) {
+                store.putInt(record + SEQUENCE, sequence + 1);
+            }
+        }
+    }
+
+    /**
+     * Checks the header of the history, writing it if the history is new, and drops an
+     * entry cut short by a crash.
+     *
+     * @param history The open history file.
+     * @return The number of entries in the history.
+     * @throws IOException If the history cannot be read or is not a profile history.
+     */
+    private static long openHistory(FileChannel history) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HISTORY_HEADER_SIZE);
+        if (history.size() < HISTORY_HEADER_SIZE) {
+            header.putInt(HISTORY_MAGIC).putInt(VERSION).putInt(HISTORY_ENTRY_SIZE).putInt(0).flip();
+            history.truncate(0);
+            history.write(header, 0);
+            return 0;
+        }
+
+        history.read(header, 0);
+        header.flip();
+        if (header.getInt() != HISTORY_MAGIC || header.getInt() != VERSION || header.getInt() != HISTORY_ENTRY_SIZE) {
+            throw new IOException("Not a profile history");
+        }
+        long entries = (history.size() - HISTORY_HEADER_SIZE) / HISTORY_ENTRY_SIZE;
+        history.truncate(HISTORY_HEADER_SIZE + entries * HISTORY_ENTRY_SIZE);
+        return entries;
+    }
+
+    /**
+     * Loads the statistics of a player. The statistics are an in-memory copy; games
+     * recorded in it are not recorded in the store.
+     *
+     * @param player The player ID.
+     * @return The statistics of the player, empty if the player has no profile yet.
+     */
+    public Statistics load(String player) {
+        byte[] id = encode(player);
+        int slot = find(id, hash(id));
+        if (slot < 0) {
+            return Statistics.inMemory();
+        }
+        return read(slot, null);
+    }
+
+    /**
+     * Records a finished game of a player, creating the player's profile if needed.
+     *
+     * @param player The player ID.
+     * @param answerIndex The index of the answer in the word list.
+     * @param guesses The number of rows submitted, from 1.
+     * @param won Whether the last row was the answer.
+     * @throws IllegalStateException If the player is new and the store is full.
+     * @throws UncheckedIOException If the history cannot be written.
+     */
+    public void recordGame(String player, int answerIndex, int guesses, boolean won) {
+        byte[] id = encode(player);
+        GameRecord game = new GameRecord(System.currentTimeMillis(), answerIndex, guesses, won ? GameRecord.WON : 0);
+        if (won && guesses > HISTOGRAM_SIZE) {
+            throw new IllegalArgumentException("Guesses out of range: " + guesses);
+        }
+
+        writeLock.lock();
+        try {
+            int hash = hash(id);
+            int slot = find(id, hash);
+            if (slot < 0) {
+                slot = insert(id, hash, -1 - slot);
+            }
+            int record = recordsOffset + slot * RECORD_SIZE;
+
+            ByteBuffer entry = ByteBuffer.allocate(HISTORY_ENTRY_SIZE);
+            entry.putLong(store.getLong(record + HISTORY_HEAD));
+            game.write(entry);
+            entry.flip();
+            long position = HISTORY_HEADER_SIZE + historyEntries * HISTORY_ENTRY_SIZE;
+            while (entry.hasRemaining()) {
+                position += history.write(entry, position);
+            }
+            historyEntries++;
+
+            int sequence = store.getInt(record + SEQUENCE);
+            INT.setVolatile(store, record + SEQUENCE, sequence + 1);
+            VarHandle.storeStoreFence();
+            int currentStreak = won ? store.getInt(record + CURRENT_STREAK) + 1 : 0;
+            store.putInt(record + CURRENT_STREAK, currentStreak);
+            store.putInt(record + LONGEST_STREAK, Math.max(currentStreak, store.getInt(record + LONGEST_STREAK)));
+            store.putInt(record + GAMES_PLAYED, store.getInt(record + GAMES_PLAYED) + 1);
+            if (won) {
+                int histogram = record + HISTOGRAM + (guesses - 1) * 4;
+                store.putInt(record + GAMES_WON, store.getInt(record + GAMES_WON) + 1);
+                store.putInt(record + LAST_WORDS_GUESSED, guesses - 1);
+                store.putInt(histogram, store.getInt(histogram) + 1);
+            }
+            store.putLong(record + HISTORY_HEAD, historyEntries);
+            INT.setRelease(store, record + SEQUENCE, sequence + 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the newest games of a player, following the history entries from the newest back.
+     *
+     * @param player The player ID.
+     * @param limit The largest number of games to read.
+     * @return The games, newest first; empty if the player has no profile.
+     * @throws UncheckedIOException If the history cannot be read.
+     */
+    public List<GameRecord> getHistory(String player, int limit) {
+        byte[] id = encode(player);
+        int slot = find(id, hash(id));
+        List<GameRecord> games = new ArrayList<>();
+        if (slot < 0) {
+            return games;
+        }
+
+        long next = (long) LONG.getAcquire(store, recordsOffset + slot * RECORD_SIZE + HISTORY_HEAD);
+        ByteBuffer entry = ByteBuffer.allocate(HISTORY_ENTRY_SIZE);
+        try {
+            while (next > 0 && games.size() < limit) {
+                entry.clear();
+                long position = HISTORY_HEADER_SIZE + (next - 1) * HISTORY_ENTRY_SIZE;
+                while (entry.hasRemaining() && history.read(entry, position + entry.position()) >= 0) {
+                    // keep reading until the entry is complete
+                }
+                entry.flip();
+                next = entry.getLong();
+                games.add(GameRecord.read(entry));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return games;
+    }
+
+    /**
+     * Calls an action with every profile in the order the profiles were created, reading
+     * the records one after another straight from the mapped file.
+     *
+     * @param action Called with the player ID and an in-memory copy of the statistics.
+     */
+    public void forEachProfile(BiConsumer<String, Statistics> action) {
+        int count = (int) INT.getAcquire(store, PROFILE_COUNT);
+        String[] player = new String[1];
+        for (int slot = 0; slot < count; slot++) {
+            Statistics statistics = read(slot, player);
+            action.accept(player[0], statistics);
+        }
+    }
+
+    /**
+     * Exports every profile as CSV: a header line, then one line per player with the
+     * games played and won, the streaks and the distribution as counts separated by
+     * semicolons. Player IDs are quoted.
+     *
+     * @param out Where the CSV is written.
+     * @param rows The number of counts of the distribution to write.
+     * @throws IOException If the CSV cannot be written.
+     */
+    public void export(Writer out, int rows) throws IOException {
+        out.write("player,played,won,currentStreak,longestStreak,distribution\n");
+        try {
+            forEachProfile((player, statistics) -> {
+                StringBuilder line = new StringBuilder(64);
+                line.append('"').append(player.replace("\"", "\"\"")).append('"');
+                line.append(',').append(statistics.getTotalGamesPlayed());
+                line.append(',').append(statistics.getGamesWon());
+                line.append(',').append(statistics.getCurrentStreak());
+                line.append(',').append(statistics.getLongestStreak()).append(',');
+                for (int index = 0; index < rows; index++) {
+                    line.append(index == 0 ? "" : ";").append(statistics.getWordsGuessedCount(index));
+                }
+                try {
+                    out.write(line.append('\n').toString());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Gets the number of profiles in the store.
+     *
+     * @return The number of profiles.
+     */
+    public int getProfileCount() {
+        return (int) INT.getAcquire(store, PROFILE_COUNT);
+    }
+
+    /**
+     * Forces the store and the history to the disk.
+     *
+     * @throws IOException If the history cannot be forced.
+     */
+    public void flush() throws IOException {
+        writeLock.lock();
+        try {
+            store.force();
+            history.force(false);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the store and the history to the disk and closes the history. The store
+     * must not be used afterwards.
+     *
+     * @throws IOException If the history cannot be forced or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        history.close();
+    }
+
+    /**
+     * Reads a record, retrying while a writer is changing it. The reader spins at first,
+     * then yields, and gives up if the record stays odd for too long.
+     *
+     * @param slot The slot of the record.
+     * @param player If not null, its first element is set to the player ID.
+     * @return An in-memory copy of the statistics in the record.
+     * @throws IllegalStateException If the record is being written for too long.
+     */
+    private Statistics read(int slot, String[] player) {
+        int record = recordsOffset + slot * RECORD_SIZE;
+        int[] histogram = new int[HISTOGRAM_SIZE];
+        long deadline = 0;
+        for (int attempt = 0; ; attempt++) {
+            int sequence = (int) INT.getAcquire(store, record + SEQUENCE);
+            int currentStreak = store.getInt(record + CURRENT_STREAK);
+            int longestStreak = store.getInt(record + LONGEST_STREAK);
+            int gamesPlayed = store.getInt(record + GAMES_PLAYED);
+            int lastWordsGuessed = store.getInt(record + LAST_WORDS_GUESSED);
+            for (int index = 0; index < HISTOGRAM_SIZE; index++) {
+                histogram[index] = store.getInt(record + HISTOGRAM + index * 4);
+            }
+            VarHandle.loadLoadFence();
+            if ((sequence & 1) == 0 && (int) INT.getVolatile(store, record + SEQUENCE) == sequence) {
+                if (player != null) {
+                    // the ID never changes once the record is published
+                    byte[] id = new byte[store.get(record + ID_LENGTH) & 0xff];
+                    store.get(record + ID, id);
+                    player[0] = new String(id, StandardCharsets.UTF_8);
+                }
+                return Statistics.inMemory(currentStreak, longestStreak, gamesPlayed, histogram, lastWordsGuessed);
+            }
+            if (attempt < READ_SPINS) {
+                Thread.onSpinWait();
+            } else if (attempt == READ_SPINS) {
+                deadline = System.nanoTime() + READ_TIMEOUT_NANOS;
+                Thread.yield();
+            } else if (System.nanoTime() - deadline < 0) {
+                Thread.yield();
+            } else {
+                throw new IllegalStateException("The profile in slot " + slot + " is being written for too long");
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of a player through the index.
+     *
+     * @param id The player ID in UTF-8.
+     * @param hash The hash of the player ID.
+     * @return The slot of the player, or -1 minus the first empty index position if there is none.
+     */
+    private int find(byte[] id, int hash) {
+        int mask = indexCapacity - 1;
+        for (int position = hash & mask; ; position = (position + 1) & mask) {
+            long entry = (long) LONG.getAcquire(store, HEADER_SIZE + position * 8);
+            if (entry == 0) {
+                return -1 - position;
+            }
+            int slot = (int) entry - 1;
+            if ((int) (entry >>> 32) == hash && matches(slot, id)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Creates the record of a new player and then publishes it in the index, so a reader
+     * never finds a record that is not complete. Called with the write lock held.
+     *
+     * @param id The player ID in UTF-8.
+     * @param hash The hash of the player ID.
+     * @param position The empty index position found for the player.
+     * @return The slot of the new record.
+     * @throws IllegalStateException If the store is full.
+     */
+    private int insert(byte[] id, int hash, int position) {
+        int slot = store.getInt(PROFILE_COUNT);
+        if (slot >= maximumProfiles) {
+            throw new IllegalStateException("The profile store is full: " + maximumProfiles + " profiles");
+        }
+
+        int record = recordsOffset + slot * RECORD_SIZE;
+        store.putInt(record + LAST_WORDS_GUESSED, -1);
+        store.put(record + ID_LENGTH, (byte) id.length);
+        store.put(record + ID, id);
+        LONG.setRelease(store, HEADER_SIZE + position * 8, (long) hash << 32 | (slot + 1));
+        INT.setRelease(store, PROFILE_COUNT, slot + 1);
+        return slot;
+    }
+
+    /**
+     * Checks whether the record in a slot belongs to a player.
+     *
+     * @param slot The slot of the record.
+     * @param id The player ID in UTF-8.
+     * @return True if the record has the player ID.
+     */
+    private boolean matches(int slot, byte[] id) {
+        int record = recordsOffset + slot * RECORD_SIZE;
+        if ((store.get(record + ID_LENGTH) & 0xff) != id.length) {
+            return false;
+        }
+        for (int index = 0; index < id.length; index++) {
+            if (store.get(record + ID + index) != id[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a player ID in UTF-8.
+     *
+     * @param player The player ID.
+     * @return The player ID in UTF-8.
+     * @throws IllegalArgumentException If the player ID is empty or too long.
+     */
+    private static byte[] encode(String player) {
+        byte[] id = player.getBytes(StandardCharsets.UTF_8);
+        if (id.length == 0 || id.length > MAXIMUM_ID_LENGTH) {
+            throw new IllegalArgumentException("A player ID must have 1 to " + MAXIMUM_ID_LENGTH + " bytes");
+        }
+        return id;
+    }
+
+    /**
+     * Hashes a player ID with FNV-1a, mixing the high bits into the low ones that pick
+     * the index position.
+     *
+     * @param id The player ID in UTF-8.
+     * @return The hash of the player ID.
+     */
+    private static int hash(byte[] id) {
+        int hash = 0x811c9dc5;
+        for (byte b : id) {
+            hash = (hash ^ (b & 0xff)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,28 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Guesses a uniformly random word among the remaining answers, which is roughly how a
+ * player who always plays in hard mode without any further thought would do.
+ */
+public class RandomCandidateStrategy implements GuessStrategy {
+
+    /**
+     * Picks a random remaining answer.
+     *
+     * @param remaining The answers still consistent with every row so far.
+     * @param row The row being guessed, starting at 0.
+     * @param random The random generator of the simulating thread.
+     * @return The word index of the guess.
+     */
+    @Override
+    public int nextGuess(CandidateSet remaining, int row, SplittableRandom random) {
+        int skip = random.nextInt(remaining.getCount());
+        int word = remaining.next(0);
+        while (skip-- > 0) {
+            word = remaining.next(word + 1);
+        }
+        return word;
+    }
+}
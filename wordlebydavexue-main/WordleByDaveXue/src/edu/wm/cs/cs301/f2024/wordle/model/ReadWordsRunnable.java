@@ -0,0 +1,145 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.wm.cs.cs301.f2024.wordle.model.EventLog.Event;
+
+/**
+ * The ReadWordsRunnable class reads a list of words from a resource file and 
+ * updates the WordleModel object with this word list. The process is recorded in the EventLog.
+ */
+public class ReadWordsRunnable implements Runnable {
+    /** The WordleModel object that contains the game's state and logic, initialized in the constructor. */
+    private final WordleModel model;
+
+    /**
+     * Constructs a ReadWordsRunnable object that prepares the word list for the given WordleModel.
+     *
+     * @param model The WordleModel object that contains the game's state and logic
+     */
+    public ReadWordsRunnable(WordleModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Starts the word reading process in a separate thread. 
+     * Creates a word list from the resource file and updates the 
+     * WordleModel with this list, which also picks the first word. The hint 
+     * engine is left for the first hint, so starting a game never computes a feedback matrix. 
+     * If an exception occurs during reading, it records the failure 
+     * and initializes an empty word list in the model.
+     */
+    @Override
+    public void run() {
+        List<String> wordlist;
+        long start = System.nanoTime();
+
+        try {
+            wordlist = createWordList();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            EventLog.getDefault().record(Event.WORD_LIST_LOADED, wordlist.size(), 0, millis);
+            Metrics.getDefault().recordWordListLoad(wordlist.size(), millis);
+        } catch (IOException e) {
+            EventLog.getDefault().record(Event.WORD_LIST_FAILED, 0, 0, 0);
+            e.printStackTrace();
+            wordlist = new ArrayList<>();
+        }
+
+        model.setWordList(wordlist);
+    }
+
+    /**
+     * Delivers the location of the resource file containing words.
+     * 
+     * @return A URL object pointing at the resource file.
+     * 
+     */
+    private static URL deliverResource() {
+        String text = "/resources/usa.txt";
+
+        URL resource = ReadWordsRunnable.class.getResource(text);
+        
+        if (null == resource) {
+            System.err.println("Failed to open stream with " + text);
+            System.exit(0);
+        }
+        
+        return resource;
+    }
+
+    /**
+     * Creates a list of words of the required length. The words are read 
+     * from the packed dictionary when it matches the resource file; otherwise 
+     * the resource file is parsed line by line and the packed dictionary is 
+     * rewritten for the next start. The read is timed by a WordListLoad flight event.
+     * 
+     * @return A List<String> containing words of the required length.
+     * 
+     */
+    List<String> createWordList() throws IOException {
+        return createWordList(model.getColumnCount());
+    }
+
+    /**
+     * Creates a list of words of the given length without a model, for tools 
+     * that run without the game window. See createWordList().
+     * 
+     * @param minimum The length of the words to keep.
+     * @return A List<String> containing words of the given length.
+     * 
+     */
+    public static List<String> createWordList(int minimum) throws IOException {
+        FlightEvents.WordListLoad event = new FlightEvents.WordListLoad();
+        event.begin();
+        Path path = PackedDictionary.getDefaultPath();
+
+        URLConnection connection = deliverResource().openConnection();
+        long sourceLength = connection.getContentLengthLong();
+        long sourceModified = connection.getLastModified();
+
+        try {
+            PackedDictionary dictionary = PackedDictionary.open(path, sourceLength, sourceModified);
+            if (dictionary != null) {
+                List<String> wordlist = dictionary.getWords(minimum);
+                EventLog.getDefault().record(Event.DICTIONARY_READ, wordlist.size(), 0, 0);
+                event.words = wordlist.size();
+                event.bytesRead = dictionary.getFileSize();
+                event.packed = true;
+                event.commit();
+                return wordlist;
+            }
+        } catch (IOException e) {
+            EventLog.getDefault().record(Event.DICTIONARY_FAILED, 0, 0, 0);
+            System.err.println(e.getMessage());
+        }
+
+        List<String> words = PackedDictionary.readText(connection.getInputStream());
+        List<String> wordlist = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() == minimum) {
+                wordlist.add(word);
+            }
+        }
+        event.words = wordlist.size();
+        event.bytesRead = sourceLength;
+        event.commit();
+
+        if (sourceLength >= 0) {
+            try {
+                PackedDictionary.write(path, words, sourceLength, sourceModified);
+                EventLog.getDefault().record(Event.DICTIONARY_WRITTEN, words.size(), 0, 0);
+            } catch (IOException e) {
+                EventLog.getDefault().record(Event.DICTIONARY_FAILED, 0, 0, 0);
+                System.err.println(e.getMessage());
+            }
+        }
+
+        return wordlist;
+    }
+}
\ No newline at end of file
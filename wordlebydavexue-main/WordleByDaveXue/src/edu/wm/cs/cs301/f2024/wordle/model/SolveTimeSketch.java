@@ -0,0 +1,115 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Counts solve times in logarithmic bins, so quantiles can be estimated from a fixed
+ * number of counts however many games were added.
+ *
+ * Bin 0 holds times under a second and bin i holds times from GAMMA^(i-1) up to
+ * GAMMA^i seconds; a quantile is reported as the middle of its bin, which is within
+ * GAMMA / 2 - 1/2, about 10%, of the time actually added. Two sketches are merged by
+ * adding their counts, so the sketch of a window of days is the merge of its days.
+ */
+final class SolveTimeSketch {
+
+    /** The ratio between the bounds of a bin. */
+    private static final double GAMMA = 1.2;
+
+    /** The number of bins, enough for the 65,534 seconds a GameRecord keeps. */
+    static final int BINS = 62;
+
+    /** The number of times in each bin, initialized in the constructor. */
+    private final int[] counts;
+
+    /** The number of times added, initialized in the constructor. */
+    private long count;
+
+    /**
+     * Constructs an empty SolveTimeSketch.
+     */
+    SolveTimeSketch() {
+        this.counts = new int[BINS];
+    }
+
+    /**
+     * Adds a solve time.
+     *
+     * @param seconds The solve time in seconds, from 0.
+     */
+    void add(int seconds) {
+        int bin = seconds < 1 ? 0 : Math.min(1 + (int) (Math.log(seconds) / Math.log(GAMMA)), BINS - 1);
+        counts[bin]++;
+        count++;
+    }
+
+    /**
+     * Adds the counts of another sketch to this one.
+     *
+     * @param other The other sketch.
+     */
+    void merge(SolveTimeSketch other) {
+        for (int bin = 0; bin < BINS; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        count += other.count;
+    }
+
+    /**
+     * Gets the number of solve times added.
+     *
+     * @return The number of solve times.
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates a quantile of the solve times.
+     *
+     * @param quantile The quantile, from 0 to 1; 0.5 is the median.
+     * @return The estimated solve time in seconds, or -1 if no time was added.
+     */
+    double getQuantile(double quantile) {
+        if (count == 0) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        int bin = 0;
+        while (bin < BINS - 1 && (seen += counts[bin]) < rank) {
+            bin++;
+        }
+        if (bin == 0) {
+            return 0.5;
+        }
+        return (Math.pow(GAMMA, bin - 1) + Math.pow(GAMMA, bin)) / 2;
+    }
+
+    /**
+     * Writes the counts at the position of a buffer and advances the position.
+     *
+     * @param buffer The buffer, with room for BINS ints.
+     */
+    void write(ByteBuffer buffer) {
+        for (int bin = 0; bin < BINS; bin++) {
+            buffer.putInt(counts[bin]);
+        }
+    }
+
+    /**
+     * Reads a sketch written by write at the position of a buffer and advances the position.
+     *
+     * @param buffer The buffer.
+     * @return The sketch.
+     */
+    static SolveTimeSketch read(ByteBuffer buffer) {
+        SolveTimeSketch sketch = new SolveTimeSketch();
+        for (int bin = 0; bin < BINS; bin++) {
+            sketch.counts[bin] = buffer.getInt();
+            sketch.count += sketch.counts[bin];
+        }
+        return sketch;
+    }
+}
@@ -2,112 +2,525 @@ package edu.wm.cs.cs301.f2024.wordle.model;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Storing and managing player's performance data in the Wordle game.
+ *
+ * The counters of the games played, won and lost and the number of games won with
+ * each number of guesses are primitive fields updated as games finish, so every
+ * question the statistics dialog asks is answered in constant time. The history of
+ * the games is not kept in memory; getHistory streams it from the journal.
+ *
+ * Every finished game is appended as one GameRecord to the statistics journal, and
+ * the counters are compacted into a small fixed-size summary every COMPACT_INTERVAL
+ * games and on writeStatistics. Reading the statistics reads the summary and replays
+ * only the records appended after it, so neither reading nor writing grows with the
+ * number of games played. A statistics.log from an older version is migrated once.
+ *
+ * The games of the last year are also rolled up by day in a StatisticsRollup that is
+ * saved with the summary, so getWindow answers the win rate, the average guesses and
+ * the solve time quantiles of the last 7, 30 or 365 days without reading the history.
+ *
+ * The history is exported to and imported from CSV or JSON Lines a line at a time by
+ * exportHistory and importHistory. Imported games are counted and appended to the
+ * journal in batches of IMPORT_BATCH, and the migration of a statistics.log goes
+ * through the same batches, so neither holds more than two batches in memory.
+ *
+ * The files are written by a StatisticsWriter on a background thread, so recording
+ * a game or saving the statistics returns at once; flush waits for the writes.
+ *
+ * A Statistics object is not thread-safe; it belongs to one player and is used by one
+ * thread at a time. Totals that many threads add to are kept by ConcurrentStatistics.
  */
 public class Statistics {
-    
+
+    /** The largest number of words guessed that can be counted, plus one. */
+    private static final int HISTOGRAM_SIZE = 16;
+
+    /** The number of games appended to the journal between two summaries. */
+    private static final int COMPACT_INTERVAL = 256;
+
+    /** The number of games imported before waiting for the writer to append them. */
+    private static final int IMPORT_BATCH = 8192;
+
+    /** The size of the buffers of exportHistory and importHistory in chars. */
+    private static final int TRANSFER_BUFFER_SIZE = 1 << 16;
+
+    /** The magic number at the start of the summary file, "WSSM". */
+    private static final int SUMMARY_MAGIC = 0x5753534d;
+
+    /** The version of the summary file layout; version 1 had no rollup. */
+    private static final int SUMMARY_VERSION = 2;
+
+    /** The size of the counters at the start of the summary file in bytes, followed by the rollup. */
+    private static final int SUMMARY_SIZE = 36 + HISTOGRAM_SIZE * 4;
+
     /** The current win streak of the player, initialized in the readStatistics method which is called in the constructor. */
     private int currentStreak;
-    
+
     /** The longest win streak of the player, initialized in the readStatistics method which is called in the constructor. */
     private int longestStreak;
-    
+
     /** The total number of games played by the player, initialized in the readStatistics method which is called in the constructor. */
     private int totalGamesPlayed;
-    
-    /** A list of integers representing the number of words guessed in each game, initialized in the constructor. */
-    private List<Integer> wordsGuessed;
-    
-    /** The path where the statistics log is stored, including the user's home directory, initialized in the constructor. */
-    private String path;
-    
-    /** The log file name for storing statistics, initialized in the constructor. */
-    private String log;
+
+    /** The number of games won by the player, initialized in the readStatistics method which is called in the constructor. */
+    private int gamesWon;
+
+    /** The number of games won for each number of words guessed, initialized in the constructor. */
+    private final int[] histogram;
+
+    /** The number of words guessed in the last game won, or -1, initialized in the readStatistics method which is called in the constructor. */
+    private int lastWordsGuessed;
+
+    /** The directory of the statistics files, or null for statistics kept in memory, initialized in the constructor. */
+    private final Path path;
+
+    /** The journal of finished games, or null for statistics kept in memory, initialized in the constructor. */
+    private final StatisticsJournal journal;
+
+    /** The games of the last year by day, or null for statistics kept in memory, initialized in the constructor. */
+    private final StatisticsRollup rollup;
+
+    /** Writes the journal and the summary in the background, or null for statistics kept in memory, initialized in the constructor. */
+    private final StatisticsWriter writer;
+
+    /** The number of records in the journal, initialized in the readStatistics method which is called in the constructor. */
+    private long journalRecords;
+
+    /** The number of journal records counted in the summary file, initialized in the readStatistics method which is called in the constructor. */
+    private long summarizedRecords;
 
     /**
-     * Constructs a Statistics object, initializes the file path, 
-     * log file name, and loads previous statistics from the log file.
-     * Initializes the fields to default values if the log file does not exist.
+     * Constructs a Statistics object, initializes the file path,
+     * and loads previous statistics from the summary and the journal.
+     * Initializes the fields to default values if there are no statistics yet.
      */
     public Statistics() {
-        this.wordsGuessed = new ArrayList<>();
-        String fileSeparator = System.getProperty("file.separator");
-        this.path = System.getProperty("user.home") + fileSeparator + "Wordle";
-        this.log = fileSeparator + "statistics.log";
+        this(Paths.get(System.getProperty("user.home"), "Wordle"));
         readStatistics();
     }
 
     /**
-     * Reads statistics data from the log file, including the current streak, 
-     * longest streak, total games played, and words guessed.
-     * Initializes the fields to default values if the log file does not exist.
+     * Constructs an empty Statistics object without reading the statistics files.
+     *
+     * @param path The directory of the statistics files, or null to keep the statistics in memory.
+     */
+    private Statistics(Path path) {
+        this.histogram = new int[HISTOGRAM_SIZE];
+        this.lastWordsGuessed = -1;
+        this.path = path;
+        this.journal = path == null ? null : new StatisticsJournal(path.resolve("statistics.journal"));
+        this.writer = path == null ? null : new StatisticsWriter(path, journal);
+        this.rollup = path == null ? null : new StatisticsRollup();
+    }
+
+    /**
+     * Creates an empty Statistics object that is kept in memory only; it has
+     * no history or rollup, and saveStatistics and writeStatistics do nothing.
+     *
+     * @return A new in-memory Statistics object.
+     */
+    public static Statistics inMemory() {
+        return new Statistics(null);
+    }
+
+    /**
+     * Creates a Statistics object that is kept in memory only, starting from
+     * saved counters; it has no history or rollup, and saveStatistics and writeStatistics
+     * do nothing.
+     *
+     * @param currentStreak the current win streak
+     * @param longestStreak the longest win streak
+     * @param totalGamesPlayed the total number of games played
+     * @param wordsGuessedCounts the number of games won with each number of words guessed, counted from 0 like the rows
+     * @param lastWordsGuessed the number of words guessed in the last game won, or -1
+     * @return A new in-memory Statistics object.
+     */
+    public static Statistics inMemory(int currentStreak, int longestStreak, int totalGamesPlayed,
+            int[] wordsGuessedCounts, int lastWordsGuessed) {
+        if (wordsGuessedCounts.length > HISTOGRAM_SIZE) {
+            throw new IllegalArgumentException("Too many counts: " + wordsGuessedCounts.length);
+        }
+        Statistics statistics = new Statistics(null);
+        statistics.currentStreak = currentStreak;
+        statistics.longestStreak = longestStreak;
+        statistics.totalGamesPlayed = totalGamesPlayed;
+        for (int index = 0; index < wordsGuessedCounts.length; index++) {
+            statistics.histogram[index] = wordsGuessedCounts[index];
+            statistics.gamesWon += wordsGuessedCounts[index];
+        }
+        statistics.lastWordsGuessed = lastWordsGuessed;
+        return statistics;
+    }
+
+    /**
+     * Reads the statistics from the summary file and replays the journal records
+     * appended after it. Without a summary, a statistics.log from an older version
+     * is migrated. Initializes the fields to default values if there are no statistics.
+     * The read is timed by a StatisticsIo flight event.
      */
     private void readStatistics() {
+        FlightEvents.StatisticsIo event = new FlightEvents.StatisticsIo();
+        event.begin();
+        try {
+            int version = readSummary(event);
+            if (version == 0 && Files.exists(path.resolve("statistics.log"))) {
+                migrateStatistics();
+            }
+
+            journalRecords = journal.open();
+            summarizedRecords = Math.min(summarizedRecords, journalRecords);
+            // a summary without a rollup has its rollup rebuilt from the whole journal once
+            long first = version == 1 ? 0 : summarizedRecords;
+            long[] index = { first };
+            try (Stream<GameRecord> records = journal.stream(first)) {
+                records.forEach(record -> {
+                    if (index[0] < summarizedRecords) {
+                        // counted in the summary already; history records are never rolled up
+                        if (!record.isHistory()) {
+                            rollup.add(record);
+                        }
+                    } else if (record.isHistory()) {
+                        countWordsGuessed(record.getGuesses() - 1);
+                    } else {
+                        countGame(record);
+                    }
+                    index[0]++;
+                });
+            }
+            event.records = index[0] - first;
+            event.bytes += event.records * GameRecord.SIZE;
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+        event.commit();
+    }
+
+    /**
+     * Reads the counters and the rollup from the summary file.
+     *
+     * @param event The flight event the bytes read are added to.
+     * @return The version of the summary read, or 0 if there is none.
+     * @throws IOException If the summary exists but cannot be read.
+     */
+    private int readSummary(FlightEvents.StatisticsIo event) throws IOException {
+        ByteBuffer buffer;
         try {
-            BufferedReader br = new BufferedReader(new FileReader(path + log));
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path.resolve("statistics.summary")));
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+        int size = buffer.remaining();
+        event.bytes += size;
+        int version = size < SUMMARY_SIZE || buffer.getInt() != SUMMARY_MAGIC ? 0 : buffer.getInt();
+        if ((version != 1 || size != SUMMARY_SIZE) && (version != SUMMARY_VERSION || size < SUMMARY_SIZE + 4)) {
+            throw new IOException("Not a statistics summary: " + path.resolve("statistics.summary"));
+        }
+
+        this.summarizedRecords = buffer.getLong();
+        this.currentStreak = buffer.getInt();
+        this.longestStreak = buffer.getInt();
+        this.totalGamesPlayed = buffer.getInt();
+        this.gamesWon = buffer.getInt();
+        this.lastWordsGuessed = buffer.getInt();
+        for (int index = 0; index < HISTOGRAM_SIZE; index++) {
+            histogram[index] = buffer.getInt();
+        }
+        if (version == SUMMARY_VERSION) {
+            try {
+                rollup.read(buffer);
+            } catch (RuntimeException e) {
+                throw new IOException("Damaged statistics summary: " + path.resolve("statistics.summary"), e);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Migrates a statistics.log written by an older version: its games won become
+     * history records appended to the journal like an import, a summary is written,
+     * and the log is renamed to statistics.log.bak so it is not migrated again. The
+     * journal is first cut back to the records the summary counts, so the records of
+     * a migration that crashed before its summary are not appended twice.
+     *
+     * @throws IOException If the log cannot be read or the new files cannot be written.
+     */
+    private void migrateStatistics() throws IOException {
+        Path log = path.resolve("statistics.log");
+        journal.truncate(summarizedRecords);
+        this.journalRecords = journal.open();
+        try (BufferedReader br = Files.newBufferedReader(log)) {
             this.currentStreak = Integer.valueOf(br.readLine().trim());
             this.longestStreak = Integer.valueOf(br.readLine().trim());
             this.totalGamesPlayed = Integer.valueOf(br.readLine().trim());
             int totalWordsGuessed = Integer.valueOf(br.readLine().trim());
-            
-            for (int index = 0; index < totalWordsGuessed; index++) {
-                wordsGuessed.add(Integer.valueOf(br.readLine().trim()));
+
+            appendGames(br.lines().limit(totalWordsGuessed).map(line -> new GameRecord(0, -1,
+                    Integer.valueOf(line.trim()) + 1, GameRecord.WON | GameRecord.HISTORY)));
+        } catch (NoSuchFileException e) {
+            return;
+        }
+
+        Files.move(log, path.resolve("statistics.log.bak"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Exports the history of the games, oldest first, one line per game. The history
+     * is streamed from the journal through a fixed-size buffer, so exporting does not
+     * grow with the number of games. The writer is flushed but not closed.
+     *
+     * @param out the writer the games are written to
+     * @param format the format of the lines
+     * @return the number of games exported
+     * @throws IOException if the journal cannot be read or the writer fails
+     */
+    public long exportHistory(Writer out, HistoryFormat format) throws IOException {
+        BufferedWriter bw = new BufferedWriter(out, TRANSFER_BUFFER_SIZE);
+        if (format.getHeader() != null) {
+            bw.write(format.getHeader());
+            bw.newLine();
+        }
+
+        long count = 0;
+        StringBuilder line = new StringBuilder(128);
+        try (Stream<GameRecord> history = getHistory()) {
+            for (Iterator<GameRecord> games = history.iterator(); games.hasNext(); count++) {
+                line.setLength(0);
+                format.format(games.next(), line);
+                bw.append(line);
+                bw.newLine();
             }
-            br.close();
-        } catch (FileNotFoundException e) {
-            this.currentStreak = 0;
-            this.longestStreak = 0;
-            this.totalGamesPlayed = 0;
-        } catch (IOException e) {
-            e.printStackTrace();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        bw.flush();
+        return count;
     }
 
     /**
-     * Writes the current statistics to the log file, including the current streak, 
-     * longest streak, total games played, and the number of words guessed.
+     * Imports games exported by exportHistory and merges them into these statistics,
+     * as if they were played after the games already recorded, in the order of the
+     * lines. History games count only as words guessed, as they did where they were
+     * exported. The lines are read through a fixed-size buffer and the games are appended
+     * in batches, so a history of any length is imported in constant memory. The games
+     * before a line that cannot be parsed stay imported. The reader is not closed.
+     *
+     * @param in the reader the games are read from
+     * @param format the format of the lines
+     * @return the number of games imported
+     * @throws IOException if the reader fails or the games cannot be written
+     * @throws IllegalArgumentException if a line is not a game in the format
      */
-    public void writeStatistics() {
+    public long importHistory(Reader in, HistoryFormat format) throws IOException {
+        BufferedReader br = new BufferedReader(in, TRANSFER_BUFFER_SIZE);
+        long[] lineNumber = { 0 };
         try {
-            File file = new File(path);
-            file.mkdir(); // Create the directory if it doesn't exist
-            file = new File(path + log);
-            file.createNewFile(); // Create the log file if it doesn't exist
-
-            BufferedWriter bw = new BufferedWriter(new FileWriter(file));
-            bw.write(Integer.toString(currentStreak));
-            bw.write(System.lineSeparator());
-            bw.write(Integer.toString(longestStreak));
-            bw.write(System.lineSeparator());
-            bw.write(Integer.toString(totalGamesPlayed));
-            bw.write(System.lineSeparator());
-            bw.write(Integer.toString(wordsGuessed.size()));
-            bw.write(System.lineSeparator());
-            
-            for (Integer value : wordsGuessed) {
-                bw.write(Integer.toString(value));
-                bw.write(System.lineSeparator());
+            return appendGames(br.lines().map(line -> {
+                lineNumber[0]++;
+                try {
+                    return format.parse(line);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + lineNumber[0] + ": " + e.getMessage(), e);
+                }
+            }).filter(record -> record != null));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Counts games and appends them to the journal in batches of IMPORT_BATCH. Before
+     * a batch is submitted the previous one is waited for, so one batch is being
+     * written while the next is read. The games counted are written, with a summary,
+     * even if the stream fails partway.
+     *
+     * @param games the games, in the order they were played; history records only count as words guessed
+     * @return the number of games appended
+     * @throws IllegalArgumentException if a game won has more guesses than can be counted
+     */
+    private long appendGames(Stream<GameRecord> games) {
+        long count = 0;
+        List<GameRecord> batch = new ArrayList<>(IMPORT_BATCH);
+        try {
+            for (Iterator<GameRecord> iterator = games.iterator(); iterator.hasNext(); count++) {
+                GameRecord record = iterator.next();
+                if (record.isWon() && (record.getGuesses() < 1 || record.getGuesses() > HISTOGRAM_SIZE)) {
+                    throw new IllegalArgumentException("Words guessed out of range: " + (record.getGuesses() - 1));
+                }
+                if (record.isHistory()) {
+                    countWordsGuessed(record.getGuesses() - 1);
+                } else {
+                    countGame(record);
+                }
+                if (path == null) {
+                    continue;
+                }
+
+                batch.add(record);
+                if (batch.size() == IMPORT_BATCH) {
+                    flush(0, TimeUnit.MILLISECONDS);
+                    journalRecords += batch.size();
+                    writer.submit(batch, null);
+                    batch.clear();
+                }
+            }
+        } finally {
+            if (path != null) {
+                journalRecords += batch.size();
+                writer.submit(batch, null);
+                writeStatistics();
             }
-            
-            bw.flush();
-            bw.close();
-        } catch (IOException e) {
-            e.printStackTrace();
         }
+        return count;
+    }
+
+    /**
+     * Saves the current statistics in the background and returns at once by
+     * rewriting the summary file, which does not grow with the number of games played.
+     */
+    public void saveStatistics() {
+        if (path == null) {
+            return;
+        }
+
+        writer.submit(Collections.emptyList(), summarize());
+    }
+
+    /**
+     * Writes the current statistics like saveStatistics, and waits until they are on the disk.
+     */
+    public void writeStatistics() {
+        saveStatistics();
+        flush(0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits until every game recorded and every save made so far is on the disk.
+     *
+     * @param timeout the longest time to wait, or 0 to wait as long as it takes
+     * @param unit the unit of the timeout
+     * @return true if everything was written; false if the timeout elapsed first
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        return writer == null || writer.flush(timeout, unit);
+    }
+
+    /**
+     * Builds the contents of the summary file from the counters and the rollup, and
+     * counts every journal record so far as summarized.
+     *
+     * @return The summary.
+     */
+    private byte[] summarize() {
+        ByteBuffer buffer = ByteBuffer.allocate(SUMMARY_SIZE + rollup.getSize());
+        buffer.putInt(SUMMARY_MAGIC);
+        buffer.putInt(SUMMARY_VERSION);
+        buffer.putLong(journalRecords);
+        buffer.putInt(currentStreak);
+        buffer.putInt(longestStreak);
+        buffer.putInt(totalGamesPlayed);
+        buffer.putInt(gamesWon);
+        buffer.putInt(lastWordsGuessed);
+        for (int count : histogram) {
+            buffer.putInt(count);
+        }
+        rollup.write(buffer);
+        this.summarizedRecords = journalRecords;
+        return buffer.array();
+    }
+
+    /**
+     * Records a finished game: updates the counters and the streaks and appends
+     * the game to the journal in the background, so the game is saved even if the
+     * application never shuts down cleanly. Every COMPACT_INTERVAL games the summary
+     * is rewritten.
+     *
+     * @param answerIndex the index of the answer in the word list
+     * @param guesses the number of rows submitted, from 1
+     * @param won whether the last row was the answer
+     */
+    public void recordGame(int answerIndex, int guesses, boolean won) {
+        recordGame(answerIndex, guesses, won, -1);
+    }
+
+    /**
+     * Records a finished game and the time it took, which is rolled up for the solve
+     * time quantiles of getWindow. The game is also recorded in the EventLog and the Metrics.
+     *
+     * @param answerIndex the index of the answer in the word list
+     * @param guesses the number of rows submitted, from 1
+     * @param won whether the last row was the answer
+     * @param solveMillis the time the game took in milliseconds, or -1 if unknown
+     */
+    public void recordGame(int answerIndex, int guesses, boolean won, long solveMillis) {
+        GameRecord record = new GameRecord(System.currentTimeMillis(), answerIndex, guesses,
+                won ? GameRecord.WON : 0, solveMillis < 0 ? -1 : (int) Math.min(solveMillis / 1000, Integer.MAX_VALUE));
+        EventLog.getDefault().record(won ? EventLog.Event.GAME_WON : EventLog.Event.GAME_LOST,
+                guesses, answerIndex, solveMillis);
+        Metrics.getDefault().recordGameFinished(won);
+        countGame(record);
+        if (path == null) {
+            return;
+        }
+
+        journalRecords++;
+        writer.submit(Collections.singletonList(record),
+                journalRecords - summarizedRecords >= COMPACT_INTERVAL ? summarize() : null);
+    }
+
+    /**
+     * Counts a finished game in the counters, the streaks and the rollup.
+     *
+     * @param record the game
+     */
+    private void countGame(GameRecord record) {
+        incrementTotalGamesPlayed();
+        if (rollup != null) {
+            rollup.add(record);
+        }
+        if (record.isWon()) {
+            countWordsGuessed(record.getGuesses() - 1);
+            setCurrentStreak(currentStreak + 1);
+        } else {
+            setCurrentStreak(0);
+        }
+    }
+
+    /**
+     * Counts a game won in the histogram.
+     *
+     * @param wordCount the number of words guessed in the game, counted from 0 like the rows
+     */
+    private void countWordsGuessed(int wordCount) {
+        if (wordCount < 0 || wordCount >= HISTOGRAM_SIZE) {
+            throw new IllegalArgumentException("Words guessed out of range: " + wordCount);
+        }
+        histogram[wordCount]++;
+        gamesWon++;
+        lastWordsGuessed = wordCount;
     }
 
     /**
      * Gets the current win streak of the player.
-     * 
+     *
      * @return the current win streak
      */
     public int getCurrentStreak() {
@@ -115,9 +528,9 @@ public class Statistics {
     }
 
     /**
-     * Sets the current win streak of the player. If the current streak exceeds 
+     * Sets the current win streak of the player. If the current streak exceeds
      * the longest streak, the longest streak is updated.
-     * 
+     *
      * @param currentStreak the new current win streak
      */
     public void setCurrentStreak(int currentStreak) {
@@ -129,7 +542,7 @@ public class Statistics {
 
     /**
      * Gets the longest win streak of the player.
-     * 
+     *
      * @return the longest win streak
      */
     public int getLongestStreak() {
@@ -138,7 +551,7 @@ public class Statistics {
 
     /**
      * Gets the total number of games played by the player.
-     * 
+     *
      * @return the total number of games played
      */
     public int getTotalGamesPlayed() {
@@ -153,21 +566,118 @@ public class Statistics {
     }
 
     /**
-     * Gets the list of the number of words guessed for each game played.
-     * 
-     * @return a list of integers representing the number of words guessed in each game
+     * Gets the number of games won by the player.
+     *
+     * @return the number of games won
+     */
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    /**
+     * Gets the number of games lost by the player.
+     *
+     * @return the number of games lost
+     */
+    public int getGamesLost() {
+        return totalGamesPlayed - gamesWon;
+    }
+
+    /**
+     * Gets the percentage of the games played that were won, rounded to the nearest whole percent.
+     *
+     * @return the win percentage from 0 to 100, or 0 if no game was played
+     */
+    public int getWinPercentage() {
+        if (totalGamesPlayed == 0) {
+            return 0;
+        }
+        return (int) ((gamesWon * 200L + totalGamesPlayed) / (totalGamesPlayed * 2L));
+    }
+
+    /**
+     * Gets the statistics of the games played in a window of recent days, merged from
+     * the rollup. Statistics kept in memory have no rollup, so their windows are empty.
+     *
+     * @param days the number of days, today included, from 1 to 365
+     * @return the statistics of the window
+     */
+    public StatisticsWindow getWindow(int days) {
+        if (days < 1 || days >= StatisticsRollup.DAYS) {
+            throw new IllegalArgumentException("Days out of range: " + days);
+        }
+        if (rollup == null) {
+            return new StatisticsWindow(days, 0, 0, 0, new SolveTimeSketch());
+        }
+        return rollup.getWindow(days, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the number of games won with a number of words guessed.
+     *
+     * @param wordCount the number of words guessed, counted from 0 like the rows
+     * @return the number of games won with that many words guessed
+     */
+    public int getWordsGuessedCount(int wordCount) {
+        return wordCount >= 0 && wordCount < HISTOGRAM_SIZE ? histogram[wordCount] : 0;
+    }
+
+    /**
+     * Gets the number of words guessed in the last game won.
+     *
+     * @return the number of words guessed, counted from 0 like the rows, or -1 if no game was won
+     */
+    public int getLastWordsGuessed() {
+        return lastWordsGuessed;
+    }
+
+    /**
+     * Streams the history of the games, oldest first, from the journal after the
+     * pending writes. The games are read lazily a block at a time, so the history
+     * is never held in memory; close the stream when done. Statistics kept in
+     * memory have no history.
+     *
+     * @return the stream of games
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public Stream<GameRecord> getHistory() {
+        if (journal == null) {
+            return Stream.empty();
+        }
+
+        flush(0, TimeUnit.MILLISECONDS);
+        try {
+            return journal.stream(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the list of the number of words guessed for each game won, read from
+     * the history; use getWordsGuessedCount for the distribution.
+     *
+     * @return a new list of integers representing the number of words guessed in each game won, oldest first
      */
     public List<Integer> getWordsGuessed() {
-        return wordsGuessed;
+        try (Stream<GameRecord> history = getHistory()) {
+            return history.filter(GameRecord::isWon)
+                    .map(record -> record.getGuesses() - 1)
+                    .collect(Collectors.toList());
+        }
     }
 
     /**
      * Adds the number of words guessed in the current game to the list of guesses.
-     * 
+     *
      * @param wordCount the number of words guessed in the current game
      */
     public void addWordsGuessed(int wordCount) {
-        this.wordsGuessed.add(wordCount);
+        countWordsGuessed(wordCount);
+        if (path != null) {
+            journalRecords++;
+            writer.submit(Collections.singletonList(
+                    new GameRecord(0, -1, wordCount + 1, GameRecord.WON | GameRecord.HISTORY)), null);
+        }
     }
 }
-
@@ -0,0 +1,229 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An append-only file of fixed-size GameRecords.
+ *
+ * The file starts with a 16-byte header (magic, version, record size, reserved) and is
+ * followed by the records, oldest first, so record i is at offset 16 + 16 * i and the
+ * records after a known count can be read without reading the ones before. A record
+ * cut short by a crash is dropped the next time the journal is opened.
+ */
+final class StatisticsJournal {
+
+    /** The magic number at the start of the file, "WSJN". */
+    private static final int MAGIC = 0x57534a4e;
+
+    /** The version of the file layout. */
+    private static final int VERSION = 1;
+
+    /** The size of the header in bytes. */
+    private static final int HEADER_SIZE = 16;
+
+    /** The number of records read from the file at a time. */
+    private static final int RECORDS_PER_READ = 4096;
+
+    /** The journal file, initialized in the constructor. */
+    private final Path file;
+
+    /**
+     * Constructs a StatisticsJournal for a file, which is created by the first append.
+     *
+     * @param file The journal file.
+     */
+    StatisticsJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the journal, dropping a record cut short by a crash.
+     *
+     * @return The number of records in the journal, or 0 if the file does not exist.
+     * @throws IOException If the file cannot be read or is not a statistics journal.
+     */
+    long open() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                channel.truncate(0);
+                return 0;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != GameRecord.SIZE) {
+                throw new IOException("Not a statistics journal: " + file);
+            }
+
+            long records = (size - HEADER_SIZE) / GameRecord.SIZE;
+            if (HEADER_SIZE + records * GameRecord.SIZE != size) {
+                channel.truncate(HEADER_SIZE + records * GameRecord.SIZE);
+            }
+            return records;
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Drops the records after a count, such as the ones appended by work that did not finish.
+     *
+     * @param records The number of records to keep.
+     * @throws IOException If the file cannot be written.
+     */
+    void truncate(long records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > HEADER_SIZE + records * GameRecord.SIZE) {
+                channel.truncate(HEADER_SIZE + records * GameRecord.SIZE);
+                channel.force(false);
+            }
+        } catch (NoSuchFileException e) {
+            // nothing to drop
+        }
+    }
+
+    /**
+     * Appends records to the end of the journal, creating it if needed, and forces
+     * them to the disk.
+     *
+     * @param records The records to append, oldest first.
+     * @throws IOException If the file cannot be written.
+     */
+    void append(List<GameRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.allocate((channel.size() == 0 ? HEADER_SIZE : 0)
+                    + records.size() * GameRecord.SIZE);
+            if (channel.size() == 0) {
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(GameRecord.SIZE).putInt(0);
+            }
+            for (GameRecord record : records) {
+                record.write(buffer);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Streams the records of the journal from an index on, oldest first. The records
+     * are read lazily, a block at a time, up to the end of the file when the stream
+     * is opened; the stream must be closed to close the file.
+     *
+     * @param from The index of the first record to read.
+     * @return The stream of records.
+     * @throws IOException If the file cannot be opened.
+     */
+    Stream<GameRecord> stream(long from) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return Stream.empty();
+        }
+
+        RecordSpliterator spliterator = new RecordSpliterator(channel, HEADER_SIZE + from * GameRecord.SIZE);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * The RecordSpliterator class reads the records of a journal file, a block at a time.
+     */
+    private static final class RecordSpliterator extends Spliterators.AbstractSpliterator<GameRecord> {
+
+        /** The open journal file, initialized in the constructor. */
+        private final FileChannel channel;
+
+        /** The end of the last whole record when the file was opened, initialized in the constructor. */
+        private final long end;
+
+        /** The records of the current block, initialized in the constructor. */
+        private final ByteBuffer buffer;
+
+        /** The position in the file of the next block, initialized in the constructor. */
+        private long position;
+
+        /**
+         * Constructs a RecordSpliterator.
+         *
+         * @param channel The open journal file.
+         * @param position The position in the file of the first record to read.
+         * @throws IOException If the size of the file cannot be read.
+         */
+        private RecordSpliterator(FileChannel channel, long position) throws IOException {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.channel = channel;
+            this.end = HEADER_SIZE + Math.max(channel.size() - HEADER_SIZE, 0) / GameRecord.SIZE * GameRecord.SIZE;
+            this.buffer = ByteBuffer.allocate(RECORDS_PER_READ * GameRecord.SIZE);
+            this.buffer.flip();
+            this.position = position;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GameRecord> action) {
+            if (!buffer.hasRemaining() && !readBlock()) {
+                return false;
+            }
+            action.accept(GameRecord.read(buffer));
+            return true;
+        }
+
+        /**
+         * Reads the next block of whole records into the buffer.
+         *
+         * @return True if at least one record was read; false at the end of the records.
+         * @throws UncheckedIOException If the file cannot be read.
+         */
+        private boolean readBlock() {
+            long remaining = end - position;
+            if (remaining < GameRecord.SIZE) {
+                return false;
+            }
+
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), remaining));
+            try {
+                while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+                    // keep reading until the block is complete
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            position += buffer.position();
+            buffer.flip();
+            buffer.limit(buffer.limit() / GameRecord.SIZE * GameRecord.SIZE);
+            return buffer.hasRemaining();
+        }
+    }
+}
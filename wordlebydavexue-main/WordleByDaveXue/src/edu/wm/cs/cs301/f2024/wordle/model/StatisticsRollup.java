@@ -0,0 +1,196 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Rolls the games of the last year up into one bucket per local day, so the statistics
+ * of the last 7, 30 or 365 days are merged from at most that many buckets instead of
+ * being recomputed from the history.
+ *
+ * The buckets form a ring indexed by the day, so the bucket of a new day replaces the
+ * one of the same slot a year earlier. Each bucket counts the games played and won and
+ * the guesses of the games won, and keeps a SolveTimeSketch of their solve times once
+ * it has one.
+ */
+final class StatisticsRollup {
+
+    /** The number of days rolled up, enough for a window of 365 days that includes today. */
+    static final int DAYS = 366;
+
+    /** The buckets by day modulo DAYS, null for a day without games, initialized in the constructor. */
+    private final Bucket[] buckets;
+
+    /**
+     * Constructs an empty StatisticsRollup.
+     */
+    StatisticsRollup() {
+        this.buckets = new Bucket[DAYS];
+    }
+
+    /**
+     * Adds a finished game to the bucket of its day. Games older than the bucket in the
+     * slot of their day, and games whose time is unknown, are not rolled up.
+     *
+     * @param record The game.
+     */
+    void add(GameRecord record) {
+        if (record.getTimestamp() <= 0) {
+            return;
+        }
+
+        long day = toDay(record.getTimestamp());
+        int slot = (int) Math.floorMod(day, (long) DAYS);
+        Bucket bucket = buckets[slot];
+        if (bucket == null || bucket.day < day) {
+            bucket = new Bucket(day);
+            buckets[slot] = bucket;
+        } else if (bucket.day > day) {
+            return;
+        }
+
+        bucket.played++;
+        if (record.isWon()) {
+            bucket.won++;
+            bucket.guesses += record.getGuesses();
+            if (record.getSolveSeconds() >= 0) {
+                if (bucket.solveTimes == null) {
+                    bucket.solveTimes = new SolveTimeSketch();
+                }
+                bucket.solveTimes.add(record.getSolveSeconds());
+            }
+        }
+    }
+
+    /**
+     * Merges the buckets of a window of days ending today.
+     *
+     * @param days The number of days, today included, from 1 to DAYS.
+     * @param now The current time in milliseconds since the epoch.
+     * @return The statistics of the window.
+     */
+    StatisticsWindow getWindow(int days, long now) {
+        long today = toDay(now);
+        int played = 0;
+        int won = 0;
+        long guesses = 0;
+        SolveTimeSketch solveTimes = new SolveTimeSketch();
+        for (Bucket bucket : buckets) {
+            if (bucket != null && bucket.day <= today && bucket.day > today - days) {
+                played += bucket.played;
+                won += bucket.won;
+                guesses += bucket.guesses;
+                if (bucket.solveTimes != null) {
+                    solveTimes.merge(bucket.solveTimes);
+                }
+            }
+        }
+        return new StatisticsWindow(days, played, won, guesses, solveTimes);
+    }
+
+    /**
+     * Gets the number of bytes write needs.
+     *
+     * @return The size of the rollup in bytes.
+     */
+    int getSize() {
+        int size = 4;
+        for (Bucket bucket : buckets) {
+            if (bucket != null) {
+                size += Bucket.SIZE + (bucket.solveTimes == null ? 0 : SolveTimeSketch.BINS * 4);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the buckets at the position of a buffer and advances the position: their
+     * count, then each bucket's day, games played and won, guesses, whether it has a
+     * sketch, and the sketch.
+     *
+     * @param buffer The buffer, with room for getSize bytes.
+     */
+    void write(ByteBuffer buffer) {
+        int count = 0;
+        for (Bucket bucket : buckets) {
+            count += bucket == null ? 0 : 1;
+        }
+        buffer.putInt(count);
+        for (Bucket bucket : buckets) {
+            if (bucket != null) {
+                buffer.putInt((int) bucket.day);
+                buffer.putInt(bucket.played);
+                buffer.putInt(bucket.won);
+                buffer.putLong(bucket.guesses);
+                buffer.put((byte) (bucket.solveTimes == null ? 0 : 1));
+                if (bucket.solveTimes != null) {
+                    bucket.solveTimes.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the buckets written by write at the position of a buffer and advances the
+     * position, replacing the buckets of the same days.
+     *
+     * @param buffer The buffer.
+     */
+    void read(ByteBuffer buffer) {
+        for (int count = buffer.getInt(); count > 0; count--) {
+            Bucket bucket = new Bucket(buffer.getInt());
+            bucket.played = buffer.getInt();
+            bucket.won = buffer.getInt();
+            bucket.guesses = buffer.getLong();
+            if (buffer.get() != 0) {
+                bucket.solveTimes = SolveTimeSketch.read(buffer);
+            }
+            buckets[(int) Math.floorMod(bucket.day, (long) DAYS)] = bucket;
+        }
+    }
+
+    /**
+     * Converts a time to the day it falls on in the local time zone.
+     *
+     * @param millis The time in milliseconds since the epoch.
+     * @return The day as the number of days since 1970-01-01.
+     */
+    private static long toDay(long millis) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()).toEpochDay();
+    }
+
+    /**
+     * The Bucket class holds the games of one day.
+     */
+    private static final class Bucket {
+
+        /** The size of a bucket without its sketch in bytes. */
+        private static final int SIZE = 21;
+
+        /** The day as the number of days since 1970-01-01, initialized in the constructor. */
+        private final long day;
+
+        /** The number of games played. */
+        private int played;
+
+        /** The number of games won. */
+        private int won;
+
+        /** The total number of guesses of the games won. */
+        private long guesses;
+
+        /** The solve times of the games won, or null until one is known. */
+        private SolveTimeSketch solveTimes;
+
+        /**
+         * Constructs an empty Bucket.
+         *
+         * @param day The day as the number of days since 1970-01-01.
+         */
+        private Bucket(long day) {
+            this.day = day;
+        }
+    }
+}
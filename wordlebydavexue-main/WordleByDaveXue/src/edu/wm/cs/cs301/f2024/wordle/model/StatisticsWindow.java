@@ -0,0 +1,105 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+/**
+ * The statistics of the games played in a window of recent days, as computed by
+ * Statistics.getWindow; it never changes.
+ */
+public final class StatisticsWindow {
+
+    /** The number of days in the window, initialized in the constructor. */
+    private final int days;
+
+    /** The number of games played in the window, initialized in the constructor. */
+    private final int gamesPlayed;
+
+    /** The number of games won in the window, initialized in the constructor. */
+    private final int gamesWon;
+
+    /** The total number of guesses of the games won in the window, initialized in the constructor. */
+    private final long guesses;
+
+    /** The solve times of the games won in the window, initialized in the constructor. */
+    private final SolveTimeSketch solveTimes;
+
+    /**
+     * Constructs a StatisticsWindow.
+     *
+     * @param days The number of days in the window.
+     * @param gamesPlayed The number of games played.
+     * @param gamesWon The number of games won.
+     * @param guesses The total number of guesses of the games won.
+     * @param solveTimes The solve times of the games won.
+     */
+    StatisticsWindow(int days, int gamesPlayed, int gamesWon, long guesses, SolveTimeSketch solveTimes) {
+        this.days = days;
+        this.gamesPlayed = gamesPlayed;
+        this.gamesWon = gamesWon;
+        this.guesses = guesses;
+        this.solveTimes = solveTimes;
+    }
+
+    /**
+     * Gets the number of days in the window, today included.
+     *
+     * @return The number of days.
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Gets the number of games played in the window.
+     *
+     * @return The number of games played.
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games won in the window.
+     *
+     * @return The number of games won.
+     */
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    /**
+     * Gets the percentage of the games played in the window that were won, rounded
+     * to the nearest whole percent.
+     *
+     * @return The win percentage from 0 to 100, or 0 if no game was played.
+     */
+    public int getWinPercentage() {
+        return gamesPlayed == 0 ? 0 : (int) ((gamesWon * 200L + gamesPlayed) / (gamesPlayed * 2L));
+    }
+
+    /**
+     * Gets the average number of guesses of the games won in the window.
+     *
+     * @return The average number of guesses, or 0 if no game was won.
+     */
+    public double getAverageGuesses() {
+        return gamesWon == 0 ? 0 : (double) guesses / gamesWon;
+    }
+
+    /**
+     * Estimates the median time to solve the games won in the window, within about 10%.
+     *
+     * @return The median solve time in seconds, or -1 if no solve time is known.
+     */
+    public double getMedianSolveSeconds() {
+        return solveTimes.getQuantile(0.5);
+    }
+
+    /**
+     * Estimates the 90th percentile of the time to solve the games won in the window,
+     * within about 10%.
+     *
+     * @return The 90th percentile solve time in seconds, or -1 if no solve time is known.
+     */
+    public double getP90SolveSeconds() {
+        return solveTimes.getQuantile(0.9);
+    }
+}
@@ -0,0 +1,223 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the statistics files on a background thread, so finishing a game or closing
+ * the window never waits for the disk.
+ *
+ * Records and summaries submitted while a write is in progress are coalesced: the
+ * records are appended to the journal together and only the latest summary is written.
+ * Every write is forced to the disk before it counts as done, and the summary is
+ * written to a temporary file that is moved over the old one, so a crash or a power
+ * cut leaves either the old or the new summary and at most a torn journal record,
+ * which StatisticsJournal drops.
+ */
+final class StatisticsWriter {
+
+    /** The thread shared by every writer; a daemon, so it never keeps the application running. */
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "StatisticsWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The directory of the statistics files, initialized in the constructor. */
+    private final Path directory;
+
+    /** The journal the records are appended to, initialized in the constructor. */
+    private final StatisticsJournal journal;
+
+    /** Guards the pending writes and the counters below. */
+    private final Object lock = new Object();
+
+    /** The records waiting to be appended, oldest first. */
+    private List<GameRecord> pendingRecords = new ArrayList<>();
+
+    /** The latest summary waiting to be written, or null. */
+    private byte[] pendingSummary;
+
+    /** The number of submits so far. */
+    private long submitted;
+
+    /** The number of submits written so far. */
+    private long written;
+
+    /** Whether a drain of this writer is queued on or running in the executor. */
+    private boolean scheduled;
+
+    /**
+     * Constructs a StatisticsWriter.
+     *
+     * @param directory The directory of the statistics files.
+     * @param journal The journal the records are appended to.
+     */
+    StatisticsWriter(Path directory, StatisticsJournal journal) {
+        this.directory = directory;
+        this.journal = journal;
+    }
+
+    /**
+     * Queues records and a summary to be written, and returns at once.
+     *
+     * @param records The records to append to the journal, oldest first.
+     * @param summary The new contents of the summary file, or null to keep it.
+     */
+    void submit(List<GameRecord> records, byte[] summary) {
+        synchronized (lock) {
+            pendingRecords.addAll(records);
+            if (summary != null) {
+                pendingSummary = summary;
+            }
+            submitted++;
+            if (!scheduled) {
+                scheduled = true;
+                EXECUTOR.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Waits until everything submitted before the call is on the disk.
+     *
+     * @param timeout The longest time to wait, or 0 to wait as long as it takes.
+     * @param unit The unit of the timeout.
+     * @return True if everything was written; false if the timeout elapsed first
+     *         or the thread was interrupted.
+     */
+    boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            long target = submitted;
+            while (written < target) {
+                long remaining = deadline - System.nanoTime();
+                if (timeout > 0 && remaining <= 0) {
+                    return false;
+                }
+                try {
+                    if (timeout > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    } else {
+                        lock.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes the pending records and summary until there are none left. A write that
+     * fails is reported and dropped, like the synchronous writes before it. Each write
+     * is timed by a StatisticsIo flight event and in the Metrics.
+     */
+    private void drain() {
+        while (true) {
+            List<GameRecord> records;
+            byte[] summary;
+            long target;
+            synchronized (lock) {
+                if (written == submitted) {
+                    scheduled = false;
+                    return;
+                }
+                records = pendingRecords;
+                summary = pendingSummary;
+                target = submitted;
+                pendingRecords = new ArrayList<>();
+                pendingSummary = null;
+            }
+
+            FlightEvents.StatisticsIo event = new FlightEvents.StatisticsIo();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                journal.append(records);
+                if (summary != null) {
+                    writeSummary(summary);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            event.write = true;
+            event.records = records.size();
+            event.bytes = (long) records.size() * GameRecord.SIZE + (summary == null ? 0 : summary.length);
+            event.commit();
+            Metrics.getDefault().recordStatisticsWrite(System.nanoTime() - start, getFileBytes());
+
+            synchronized (lock) {
+                written = target;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the journal and the summary.
+     *
+     * @return The size of the statistics files in bytes, counting a missing file as 0.
+     */
+    private long getFileBytes() {
+        long bytes = 0;
+        for (String name : new String[] { "statistics.journal", "statistics.summary" }) {
+            try {
+                bytes += Files.size(directory.resolve(name));
+            } catch (IOException e) {
+                // not written yet
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the summary file: the summary is written and forced to a temporary file
+     * next to it, which is then moved over the old summary in one step.
+     *
+     * @param summary The new contents of the summary file.
+     * @throws IOException If the summary cannot be written.
+     */
+    private void writeSummary(byte[] summary) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "statistics", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(summary);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, directory.resolve("statistics.summary"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        forceDirectory();
+    }
+
+    /**
+     * Forces the directory entry of the moved summary to the disk. Not every platform
+     * can open a directory; there the move is as durable as the file system makes it.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories cannot be opened on this platform
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+/**
+ * The TileState enum represents the state of one letter tile in the Wordle grid.
+ * The model only deals in tile states; the view decides how each state looks.
+ */
+public enum TileState {
+    /** The letter does not occur in the answer. */
+    ABSENT,
+
+    /** The letter occurs in the answer at another position. */
+    PRESENT,
+
+    /** The letter is at the correct position. */
+    CORRECT,
+
+    /** The letter has been typed but the row has not been submitted yet. */
+    PENDING;
+
+    /** The states in ordinal order, cached so converting a digit or ordinal does not allocate. */
+    private static final TileState[] VALUES = values();
+
+    /**
+     * Returns the tile state of a feedback digit from FeedbackScorer.
+     *
+     * @param digit ABSENT (0), PRESENT (1) or CORRECT (2).
+     * @return The matching tile state.
+     */
+    public static TileState fromFeedback(int digit) {
+        return VALUES[digit];
+    }
+
+    /**
+     * Returns the tile state with the given ordinal, as stored in a byte.
+     *
+     * @param ordinal The ordinal of the state.
+     * @return The tile state.
+     */
+    public static TileState fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
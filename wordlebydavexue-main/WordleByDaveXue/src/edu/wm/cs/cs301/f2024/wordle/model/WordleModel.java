@@ -1,19 +1,27 @@
 package edu.wm.cs.cs301.f2024.wordle.model;
 
-import java.awt.Color;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
-
-import edu.wm.cs.cs301.f2024.wordle.controller.ReadWordsRunnable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BooleanSupplier;
 
 /**
  * Represents the model for the Wordle game, managing the game state, word list,
- * and user interactions.
+ * and user interactions. The model has no AWT or Swing dependencies; tiles are 
+ * described by their TileState and the view decides how each state looks.
  */
 public class WordleModel {
 
     /** The word that the player needs to guess, initialized by the generateCurrentWord or the setCurrentWord method.*/
     private char[] currentWord;
+
+    /** The index of the current word in the word list, initialized with the current word. */
+    private int currentWordIndex;
     
     /** The player's current guess, initialized by the constructor. */
     private char[] guess;
@@ -30,8 +38,11 @@ public class WordleModel {
     /** The current row (attempt) number, initialized by the constructor. */
     private int currentRow;
 
-    /** The list of available words for the game, initialized by the setWordList method. */
-    private List<String> wordList;
+    /** The list of available words for the game, initialized by the setWordList method once the background load finishes. */
+    private volatile List<String> wordList;
+
+    /** Completed with the word list the first time it is set, initialized by the constructor. */
+    private final CompletableFuture<List<String>> wordListFuture;
 
     /** Random instance for selecting words randomly, initialized by the constructor. */
     private final Random random;
@@ -39,44 +50,108 @@ public class WordleModel {
     /** The statistics object tracking game performance, initialized by the constructor. */
     private final Statistics statistics;
 
-    /** The grid of WordleResponse objects representing the state of the game, initialized by the initializeWordleGrid method in the constructor. */
-    private WordleResponse[][] wordleGrid;
+    /** The scorer used to score each submitted row, initialized by the constructor. */
+    private final FeedbackScorer scorer;
+
+    /** The answers still consistent with every submitted row, initialized by the setWordList method. */
+    private CandidateSet candidates;
+
+    /** The engine that ranks hints for the current word list, initialized by the getHintEngine method. */
+    private HintEngine hintEngine;
+
+    /** The word list the hint engine was built for, initialized by the getHintEngine method. */
+    private List<String> hintWordList;
+
+    /** The letter of every cell of the grid, row by row, with '\0' for an empty cell, initialized by the constructor. */
+    private final char[] letters;
+
+    /** The TileState ordinal of every cell of the grid, row by row, initialized by the constructor. */
+    private final byte[] states;
+
+    /** The cells changed since the view last repainted them, by index row * columnCount + column, initialized by the constructor. */
+    private final BitSet dirtyCells;
+
+    /** The System.nanoTime when the first letter of the game was typed, or 0 before that, initialized by the initialize method. */
+    private long startNanos;
 
     /**
      * Constructs a new WordleModel instance, initializing the grid, word list, 
-     * and statistics, and generating a random word to guess.
+     * and statistics, and generating a random word to guess. The word list is 
+     * loaded from the resource file in a separate thread.
      */
     public WordleModel() {
+        this(null, new Statistics());
+    }
+
+    /**
+     * Constructs a new WordleModel instance over an already loaded word list, 
+     * for headless use where no loader thread and no statistics file are wanted.
+     *
+     * @param wordList The list of words to be used in the game, or null to 
+     *                 load it from the resource file in a separate thread.
+     * @param statistics The statistics object tracking game performance.
+     */
+    public WordleModel(List<String> wordList, Statistics statistics) {
+        this(wordList, null, statistics);
+    }
+
+    /**
+     * Constructs a new WordleModel instance over an already loaded and indexed 
+     * word list. Servers that host many games share one list and one index 
+     * between every model, so each game only holds its own grid and candidates.
+     *
+     * @param wordList The list of words to be used in the game, or null to 
+     *                 load it from the resource file in a separate thread.
+     * @param index The index over the word list, or null to build one.
+     * @param statistics The statistics object tracking game performance.
+     */
+    public WordleModel(List<String> wordList, CandidateIndex index, Statistics statistics) {
         this.currentColumn = -1;
         this.currentRow = 0;
         this.columnCount = 5;
         this.maximumRows = 6;
         this.random = new Random();
+        this.scorer = new FeedbackScorer();
+        this.wordListFuture = new CompletableFuture<>();
 
-        createWordList();
-        this.wordleGrid = initializeWordleGrid();
+        this.letters = new char[maximumRows * columnCount];
+        this.dirtyCells = new BitSet(maximumRows * columnCount);
+        this.states = new byte[maximumRows * columnCount];
         this.guess = new char[columnCount];
-        this.statistics = new Statistics();
+        this.statistics = statistics;
+        if (wordList == null) {
+            createWordList();
+        } else {
+            setWordList(wordList, index == null ? new CandidateIndex(wordList) : index);
+        }
     }
 
     /**
      * Starts the process of creating the word list in a separate thread.
+     * The game can be played while the list loads; see whenWordListLoaded.
      */
     private void createWordList() {
         ReadWordsRunnable runnable = new ReadWordsRunnable(this);
-        new Thread(runnable).start();
+        Thread thread = new Thread(runnable, "ReadWordsRunnable");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     /**
      * Initializes the model, resetting the grid, rows, columns, and generating
-     * a new word to guess.
+     * a new word to guess. If the word list is still loading, the word is 
+     * generated when it arrives.
      */
     public void initialize() {
-        this.wordleGrid = initializeWordleGrid();
+        initializeWordleGrid();
         this.currentColumn = -1;
         this.currentRow = 0;
-        generateCurrentWord();
-        this.guess = new char[columnCount];
+        this.startNanos = 0;
+        if (isWordListLoaded()) {
+            generateCurrentWord();
+            candidates.reset();
+        }
+        Arrays.fill(guess, '\0');
     }
 
     /**
@@ -84,17 +159,26 @@ public class WordleModel {
      * word list.
      */
     public void generateCurrentWord() {
-        String word = getCurrentWord();
-        this.currentWord = word.toUpperCase().toCharArray();
+        setCurrentWord(getRandomIndex());
+    }
+
+    /**
+     * Sets the current word to the word at an index of the word list.
+     *
+     * @param index The index of the word in the word list.
+     */
+    void setCurrentWord(int index) {
+        this.currentWordIndex = index;
+        this.currentWord = wordList.get(index).toUpperCase().toCharArray();
     }
 
     /**
-     * Gets a random word from the word list.
+     * Gets the index of the current word in the word list.
      *
-     * @return A random word from the word list.
+     * @return The index of the current word.
      */
-    private String getCurrentWord() {
-        return wordList.get(getRandomIndex());
+    public int getCurrentWordIndex() {
+        return currentWordIndex;
     }
 
     /**
@@ -108,29 +192,60 @@ public class WordleModel {
     }
 
     /**
-     * Initializes the Wordle grid, setting all positions to null.
+     * Initializes the Wordle grid, emptying every cell in place.
+     */
+    private void initializeWordleGrid() {
+        Arrays.fill(letters, '\0');
+        Arrays.fill(states, (byte) 0);
+        dirtyCells.set(0, letters.length);
+    }
+
+    /**
+     * Sets the word list to be used by the model and indexes it for tracking the 
+     * remaining candidates. The first non-empty list also picks the word to guess 
+     * if none was picked yet. All of this happens before the list is published 
+     * to other threads, which also completes the stage returned by whenWordListLoaded.
      *
-     * @return A 2D array representing the empty Wordle grid.
+     * @param wordList The list of words to be used in the game.
      */
-    private WordleResponse[][] initializeWordleGrid() {
-        WordleResponse[][] wordleGrid = new WordleResponse[maximumRows][columnCount];
+    public void setWordList(List<String> wordList) {
+        setWordList(wordList, new CandidateIndex(wordList));
+    }
 
-        for (int row = 0; row < wordleGrid.length; row++) {
-            for (int column = 0; column < wordleGrid[row].length; column++) {
-                wordleGrid[row][column] = null;
-            }
+    /**
+     * Sets the word list to be used by the model along with its index. See setWordList(List).
+     *
+     * @param wordList The list of words to be used in the game.
+     * @param index The index over the word list.
+     */
+    private void setWordList(List<String> wordList, CandidateIndex index) {
+        if (currentWord == null && !wordList.isEmpty()) {
+            this.currentWordIndex = random.nextInt(wordList.size());
+            this.currentWord = wordList.get(currentWordIndex).toUpperCase().toCharArray();
         }
+        this.candidates = new CandidateSet(index);
+        this.wordList = wordList;
+        wordListFuture.complete(wordList);
+    }
 
-        return wordleGrid;
+    /**
+     * Checks whether the word list has been loaded.
+     *
+     * @return True if the word list is available; false while it is still loading.
+     */
+    public boolean isWordListLoaded() {
+        return wordList != null;
     }
 
     /**
-     * Sets the word list to be used by the model.
+     * Returns a stage that completes with the word list once it has been loaded. 
+     * Dependent actions must not block; Swing code should run them with 
+     * SwingUtilities::invokeLater as the executor.
      *
-     * @param wordList The list of words to be used in the game.
+     * @return A CompletionStage completed with the loaded word list.
      */
-    public void setWordList(List<String> wordList) {
-        this.wordList = wordList;
+    public CompletionStage<List<String>> whenWordListLoaded() {
+        return wordListFuture.minimalCompletionStage();
     }
 
     /**
@@ -138,40 +253,124 @@ public class WordleModel {
      */
     public void setCurrentWord() {
         int index = getRandomIndex();
+        currentWordIndex = index;
         currentWord = wordList.get(index).toCharArray();
     }
 
     /**
-     * Sets the current column with the guessed character and updates the grid.
+     * Gets the word list the model is playing with.
+     *
+     * @return The word list, or null while it is still loading.
+     */
+    List<String> getWordList() {
+        return wordList;
+    }
+
+    /**
+     * Sets the current column with the guessed character and updates the grid. The
+     * first letter of a game counts the game as started in the Metrics.
      *
      * @param c The character guessed for the current column.
      */
     public void setCurrentColumn(char c) {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+            Metrics.getDefault().recordGameStarted();
+        }
+        replayColumn(c);
+    }
+
+    /**
+     * Sets the current column with a character of a saved game and updates the grid,
+     * without counting the game as started or starting its timer.
+     *
+     * @param c The character guessed for the current column.
+     */
+    void replayColumn(char c) {
         currentColumn++;
         currentColumn = Math.min(currentColumn, (columnCount - 1));
         guess[currentColumn] = c;
-        wordleGrid[currentRow][currentColumn] = new WordleResponse(c, Color.WHITE, Color.BLACK);
+        setCell(currentRow, currentColumn, c, TileState.PENDING);
+    }
+
+    /**
+     * Gets the time the player has spent on the game, from the first letter typed.
+     *
+     * @return The time in milliseconds, or 0 if no letter has been typed yet.
+     */
+    public long getElapsedMillis() {
+        return startNanos == 0 ? 0 : (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Sets the time the player has already spent on a restored game, so the timer goes
+     * on from there and the next letter typed does not count the game as started again.
+     *
+     * @param elapsedMillis The time spent before the game was saved, in milliseconds.
+     */
+    void resumeTimer(long elapsedMillis) {
+        long start = System.nanoTime() - elapsedMillis * 1_000_000;
+        startNanos = start == 0 ? 1 : start;
+    }
+
+    /**
+     * Sets the letter and tile state of one cell of the grid.
+     *
+     * @param row The row of the cell.
+     * @param column The column of the cell.
+     * @param c The letter, or '\0' to empty the cell.
+     * @param state The state of the cell's tile.
+     */
+    private void setCell(int row, int column, char c, TileState state) {
+        int cell = row * columnCount + column;
+        letters[cell] = c;
+        states[cell] = (byte) state.ordinal();
+        dirtyCells.set(cell);
+    }
+
+    /**
+     * Gets the next cell changed since the last clearDirtyCells, so the view can
+     * repaint only the cells that changed. Every cell is changed after initialize.
+     *
+     * @param from The index to start from, row * getColumnCount() + column.
+     * @return The index of the next changed cell at or after from, or -1 if there is none.
+     */
+    public int nextDirtyCell(int from) {
+        return dirtyCells.nextSetBit(from);
+    }
+
+    /**
+     * Marks every cell as painted.
+     */
+    public void clearDirtyCells() {
+        dirtyCells.clear();
     }
 
     /**
-     * Removes the last guessed character and moves back one column.
-     * 
-     * TODO Potential bug as the code doesn't check if currentColumn is a negative index.
+     * Removes the last guessed character and moves back one column. 
+     * Does nothing if the current row is empty.
      */
     public void backspace() {
-        wordleGrid[currentRow][currentColumn] = null;
+        if (currentColumn < 0) {
+            return;
+        }
+        setCell(currentRow, currentColumn, '\0', TileState.PENDING);
         guess[currentColumn] = ' ';
         this.currentColumn--;
-        this.currentColumn = Math.max(currentColumn, 0);
     }
 
     /**
      * Returns the current row of Wordle responses.
      *
-     * @return An array of WordleResponse objects for the current row.
+     * @return A new array of the shared WordleResponse objects for the current row.
      */
     public WordleResponse[] getCurrentRow() {
-        return wordleGrid[getCurrentRowNumber()];
+        int row = getCurrentRowNumber();
+        WordleResponse[] responses = new WordleResponse[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            responses[column] = getResponse(row, column);
+        }
+        return responses;
     }
 
     /**
@@ -184,58 +383,141 @@ public class WordleModel {
     }
 
     /**
-     * Updates the grid with the colors representing correct and incorrect guesses
-     * and moves to the next row.
+     * Updates the grid with the tile states representing correct and incorrect guesses,
+     * narrows the remaining candidates by the row's feedback and moves to the next row.
+     * The guess is recorded in the EventLog and the Metrics and timed by a RowScored flight event.
      *
      * @return True if there are remaining rows for guessing; false otherwise.
      */
     public boolean setCurrentRow() {
-        for (int column = 0; column < guess.length; column++) {
-            Color backgroundColor = AppColors.GRAY;
-            Color foregroundColor = Color.WHITE;
-            if (guess[column] == currentWord[column]) {
-                backgroundColor = AppColors.GREEN;
-            } else if (contains(currentWord, guess, column)) {
-                backgroundColor = AppColors.YELLOW;
-            }
+        FlightEvents.RowScored event = new FlightEvents.RowScored();
+        event.begin();
+        int row = currentRow;
+        int code = scorer.score(guess, currentWord);
+        EventLog.getDefault().record(EventLog.Event.GUESS_SUBMITTED, row, code, currentWordIndex);
+        Metrics.getDefault().recordGuess();
+        event.row = row;
+        event.feedback = code;
+        event.candidates = scoreRow(code);
+        event.commit();
+        return currentRow < maximumRows;
+    }
+
+    /**
+     * Scores the current row of a saved game like setCurrentRow, without recording the 
+     * guess in the EventLog, the Metrics or a flight event, since it was recorded when
+     * it was first played.
+     *
+     * @return True if there are remaining rows for guessing; false otherwise.
+     */
+    boolean replayRow() {
+        scoreRow(scorer.score(guess, currentWord));
+        return currentRow < maximumRows;
+    }
 
-            wordleGrid[currentRow][column] = new WordleResponse(guess[column],
-                    backgroundColor, foregroundColor);
+    /**
+     * Narrows the remaining candidates by the feedback of the current row, sets the
+     * row's tile states and moves to the next row.
+     *
+     * @param code The feedback code of the current row.
+     * @return The number of candidates left.
+     */
+    private int scoreRow(int code) {
+        int remaining = candidates.narrow(guess, code);
+        for (int column = 0; column < guess.length; column++) {
+            setCell(currentRow, column, guess[column], TileState.fromFeedback(code % 3));
+            code /= 3;
         }
 
         currentColumn = -1;
         currentRow++;
-        guess = new char[columnCount];
-
-        return currentRow < maximumRows;
+        Arrays.fill(guess, '\0');
+        return remaining;
     }
 
     /**
-     * Checks if the guessed character exists in the current word at any position 
-     * other than the current column.
+     * Gets the current state of the Wordle grid. The grid itself is stored as 
+     * primitive arrays; this builds a snapshot of the shared WordleResponse 
+     * objects, so painting code should prefer getResponse.
      *
-     * @param currentWord The word being guessed.
-     * @param guess       The current guess.
-     * @param column      The current column being checked.
-     * @return True if the character exists in another position; false otherwise.
+     * @return A new 2D array of WordleResponse objects representing the grid, 
+     *         with null for empty cells.
      */
-    private boolean contains(char[] currentWord, char[] guess, int column) {
-        for (int index = 0; index < currentWord.length; index++) {
-            if (index != column && guess[column] == currentWord[index]) {
-                return true;
+    public WordleResponse[][] getWordleGrid() {
+        WordleResponse[][] wordleGrid = new WordleResponse[maximumRows][columnCount];
+        for (int row = 0; row < maximumRows; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                wordleGrid[row][column] = getResponse(row, column);
             }
         }
+        return wordleGrid;
+    }
 
-        return false;
+    /**
+     * Gets the response of one cell of the grid without allocating.
+     *
+     * @param row The row of the cell.
+     * @param column The column of the cell.
+     * @return The shared WordleResponse for the cell's letter and state, or null if the cell is empty.
+     */
+    public WordleResponse getResponse(int row, int column) {
+        int cell = row * columnCount + column;
+        char c = letters[cell];
+        return c == '\0' ? null : WordleResponse.of(c, TileState.fromOrdinal(states[cell]));
     }
 
     /**
-     * Gets the current state of the Wordle grid.
+     * Gets the letter of one cell of the grid.
      *
-     * @return A 2D array of WordleResponse objects representing the grid.
+     * @param row The row of the cell.
+     * @param column The column of the cell.
+     * @return The letter of the cell, or '\0' if the cell is empty.
      */
-    public WordleResponse[][] getWordleGrid() {
-        return wordleGrid;
+    public char getLetter(int row, int column) {
+        return letters[row * columnCount + column];
+    }
+
+    /**
+     * Gets the tile state of one cell of the grid.
+     *
+     * @param row The row of the cell.
+     * @param column The column of the cell.
+     * @return The state of the cell's tile; only meaningful if the cell has a letter.
+     */
+    public TileState getTileState(int row, int column) {
+        return TileState.fromOrdinal(states[row * columnCount + column]);
+    }
+
+    /**
+     * Gets the feedback code of a submitted row, as computed by FeedbackScorer.
+     *
+     * @param row The submitted row.
+     * @return The feedback code of the row.
+     */
+    int getRowCode(int row) {
+        int code = 0;
+        for (int column = columnCount - 1; column >= 0; column--) {
+            code = code * 3 + states[row * columnCount + column];
+        }
+        return code;
+    }
+
+    /**
+     * Checks whether the last submitted row solved the word.
+     *
+     * @return True if every tile of the last submitted row is correct.
+     */
+    public boolean isSolved() {
+        return currentRow > 0 && getRowCode(currentRow - 1) == FeedbackScorer.getSolvedCode(columnCount);
+    }
+
+    /**
+     * Checks whether the game is over, either solved or out of rows.
+     *
+     * @return True if no more rows can be submitted.
+     */
+    public boolean isGameOver() {
+        return isSolved() || currentRow >= maximumRows;
     }
 
     /**
@@ -268,10 +550,71 @@ public class WordleModel {
     /**
      * Gets the total number of words in the word list.
      *
-     * @return The size of the word list.
+     * @return The size of the word list, or 0 while it is still loading.
      */
     public int getTotalWordCount() {
-        return wordList.size();
+        List<String> wordList = this.wordList;
+        return wordList == null ? 0 : wordList.size();
+    }
+
+    /**
+     * Gets the number of words that are still consistent with every submitted row.
+     *
+     * @return The number of remaining candidates, or 0 while the word list is still loading.
+     */
+    public int getRemainingWordCount() {
+        return isWordListLoaded() ? candidates.getCount() : 0;
+    }
+
+    /**
+     * Gets the word list indexes of the words that are still consistent with every submitted row.
+     *
+     * @return A new array of the remaining candidate indexes, in word list order.
+     */
+    public int[] getRemainingWords() {
+        int[] remaining = new int[getRemainingWordCount()];
+        int index = 0;
+        for (int word = candidates.next(0); word >= 0 && index < remaining.length; word = candidates.next(word + 1)) {
+            remaining[index++] = word;
+        }
+        return remaining;
+    }
+
+    /**
+     * Ranks every word as a guess against the remaining candidates on the fork/join pool.
+     * The remaining candidates are captured on the calling thread, so the game can go on 
+     * while the ranking runs.
+     *
+     * @param count The number of suggestions to return.
+     * @param cancelled Returns true once the suggestions are no longer wanted.
+     * @return A CompletableFuture completed with up to count hints, best first, or 
+     *         completed exceptionally with a CancellationException if cancelled.
+     */
+    public CompletableFuture<List<Hint>> suggestGuesses(int count, BooleanSupplier cancelled) {
+        int[] answers = getRemainingWords();
+        List<String> wordList = this.wordList;
+        return CompletableFuture.supplyAsync(() -> getHintEngine(wordList, cancelled).rank(answers, count, cancelled));
+    }
+
+    /**
+     * Gets the hint engine for a word list, building it the first time a hint is asked
+     * for. Building it computes the feedback matrix if this word list has never been
+     * seen before, which the cancellation of the hint stops.
+     *
+     * @param wordList The word list the hints are for.
+     * @param cancelled Returns true once the hint is no longer wanted.
+     * @return The hint engine for the word list.
+     */
+    private synchronized HintEngine getHintEngine(List<String> wordList, BooleanSupplier cancelled) {
+        if (hintEngine == null || hintWordList != wordList) {
+            try {
+                this.hintEngine = new HintEngine(wordList, FeedbackMatrix.load(wordList, cancelled));
+                this.hintWordList = wordList;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return hintEngine;
     }
 
     /**
@@ -1,56 +1,80 @@
 package edu.wm.cs.cs301.f2024.wordle.model;
 
-import java.awt.Color;
-
 /**
  * Represents a single response for a guessed character in the Wordle game, 
- * containing the character and its corresponding background and foreground colors.
+ * containing the character and the state of its tile.
+ * 
+ * Responses are immutable flyweights: there is one shared instance per 
+ * (character, state) pair, obtained with the of method.
  */
 public class WordleResponse {
+
+    /** The shared responses for every ASCII character and state, initialized when the class is loaded. */
+    private static final WordleResponse[][] RESPONSES = createResponses();
     
     /** The character guessed by the player, initialized by the constructor. */
     private final char c;
     
-    /** The response containing the background and foreground colors for the character, initialized by the constructor. */
-    private final ColorResponse colorResponse;
+    /** The state of the character's tile, initialized by the constructor. */
+    private final TileState state;
 
     /**
-     * Constructs a WordleResponse object for a guessed character with specific colors.
+     * Constructs a WordleResponse object for a guessed character in a specific state.
      * 
      * @param c The guessed character.
-     * @param backgroundColor The background color for the character.
-     * @param foregroundColor The text color of the character.
+     * @param state The state of the character's tile.
      */
-    public WordleResponse(char c, Color backgroundColor, Color foregroundColor) {
+    private WordleResponse(char c, TileState state) {
         this.c = c;
-        this.colorResponse = new ColorResponse(backgroundColor, foregroundColor);
+        this.state = state;
     }
 
     /**
-     * Returns the guessed character.
+     * Creates the shared responses for every ASCII character and state.
      *
-     * @return The character guessed by the player.
+     * @return The shared responses, indexed by character and then by state ordinal.
      */
-    public char getChar() {
-        return c;
+    private static WordleResponse[][] createResponses() {
+        TileState[] states = TileState.values();
+        WordleResponse[][] responses = new WordleResponse[128][states.length];
+        for (char c = 0; c < responses.length; c++) {
+            for (TileState state : states) {
+                responses[c][state.ordinal()] = new WordleResponse(c, state);
+            }
+        }
+        return responses;
     }
 
     /**
-     * Returns the background color associated with the guessed character.
+     * Returns the response for a guessed character in a specific state. ASCII 
+     * characters always return the same shared instance for the same state.
+     * 
+     * @param c The guessed character.
+     * @param state The state of the character's tile.
+     * @return The WordleResponse for the character and state.
+     */
+    public static WordleResponse of(char c, TileState state) {
+        if (c < RESPONSES.length) {
+            return RESPONSES[c][state.ordinal()];
+        }
+        return new WordleResponse(c, state);
+    }
+
+    /**
+     * Returns the guessed character.
      *
-     * @return the background color for the guessed character.
+     * @return The character guessed by the player.
      */
-    public Color getBackgroundColor() {
-        return colorResponse.getBackgroundColor();
+    public char getChar() {
+        return c;
     }
 
     /**
-     * Returns the foreground color of the guessed character.
+     * Returns the state of the guessed character's tile.
      *
-     * @return the text color of the guessed character.
+     * @return the tile state for the guessed character.
      */
-    public Color getForegroundColor() {
-        return colorResponse.getForegroundColor();
+    public TileState getState() {
+        return state;
     }
 }
-
@@ -0,0 +1,53 @@
+package edu.wm.cs.cs301.f2024.wordle.view;
+
+import java.awt.Color;
+
+import edu.wm.cs.cs301.f2024.wordle.model.TileState;
+
+/**
+ *  The AppColors class defines the color constants used in the Wordle game,
+ *  and maps the model's tile states to them.
+ */
+public class AppColors {
+	/** The color for incorrect letters in the game (gray). */
+	public static Color GRAY = new Color(120, 124, 126);
+	
+    /** The color for correctly guessed letters in the game (green). */
+	public static Color GREEN = new Color(106, 170, 100);
+	
+    /** The color for letters present but in the wrong position (yellow). */
+	public static Color YELLOW = new Color(201, 180, 88);
+	
+    /** The color used for outlining the grid cells (light gray). */
+	public static Color OUTLINE = new Color(211, 214, 218);
+
+	/**
+	 * Returns the background color of a tile in the given state.
+	 * 
+	 * @param state the state of the tile.
+	 * @return the background color for the tile.
+	 */
+	public static Color getBackgroundColor(TileState state) {
+		switch (state) {
+			case CORRECT:
+				return GREEN;
+			case PRESENT:
+				return YELLOW;
+			case ABSENT:
+				return GRAY;
+			default:
+				return Color.WHITE;
+		}
+	}
+
+	/**
+	 * Returns the text color of a tile in the given state.
+	 * 
+	 * @param state the state of the tile.
+	 * @return the text color for the tile.
+	 */
+	public static Color getForegroundColor(TileState state) {
+		return state == TileState.PENDING ? Color.BLACK : Color.WHITE;
+	}
+
+}
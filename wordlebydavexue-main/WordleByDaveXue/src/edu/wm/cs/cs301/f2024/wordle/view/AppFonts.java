@@ -7,6 +7,15 @@ import java.awt.Font;
  * used in the Wordle application.
  */
 public class AppFonts {
+
+    /** The title font; a Font never changes, so one is shared by every caller. */
+    private static final Font TITLE_FONT = new Font("Dialog", Font.BOLD, 36);
+
+    /** The text font. */
+    private static final Font TEXT_FONT = new Font("Dialog", Font.PLAIN, 16);
+
+    /** The footer font. */
+    private static final Font FOOTER_FONT = new Font("Dialog", Font.PLAIN, 12);
     
     /**
      * Returns a bold title font with a size of 36 points.
@@ -14,7 +23,7 @@ public class AppFonts {
      * @return a Font object representing the title font
      */
     public static Font getTitleFont() {
-        return new Font("Dialog", Font.BOLD, 36);
+        return TITLE_FONT;
     }
     
     /**
@@ -23,7 +32,7 @@ public class AppFonts {
      * @return a Font object representing the text font
      */
     public static Font getTextFont() {
-        return new Font("Dialog", Font.PLAIN, 16);
+        return TEXT_FONT;
     }
     
     /**
@@ -32,6 +41,6 @@ public class AppFonts {
      * @return a Font object representing the footer font
      */
     public static Font getFooterFont() {
-        return new Font("Dialog", Font.PLAIN, 12);
+        return FOOTER_FONT;
     }
 }
@@ -10,7 +10,6 @@ import java.awt.RenderingHints;
 
 import javax.swing.JPanel;
 
-import edu.wm.cs.cs301.f2024.wordle.model.AppColors;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
 
 /**
@@ -55,10 +54,10 @@ public class DistributionPanel extends JPanel {
     private void calculatePercentages() {
         this.counts = new int[model.getMaximumRows()];
 
-        for (int value : model.getStatistics().getWordsGuessed()) {
-            counts[value]++;
-            lastValue = value;
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] = model.getStatistics().getWordsGuessedCount(index);
         }
+        lastValue = model.getStatistics().getLastWordsGuessed();
 
         int maxCount = 0;
         for (int index = 0; index < model.getMaximumRows(); index++) {
@@ -67,7 +66,7 @@ public class DistributionPanel extends JPanel {
 
         this.percentages = new double[model.getMaximumRows()];
         for (int index = 0; index < model.getMaximumRows(); index++) {
-            percentages[index] = (double) counts[index] / maxCount;
+            percentages[index] = maxCount == 0 ? 0 : (double) counts[index] / maxCount;
         }
     }
 
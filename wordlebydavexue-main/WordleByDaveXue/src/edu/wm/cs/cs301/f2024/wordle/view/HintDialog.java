@@ -0,0 +1,146 @@
+package edu.wm.cs.cs301.f2024.wordle.view;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.util.List;
+
+import javax.swing.AbstractAction;
+import javax.swing.ActionMap;
+import javax.swing.BorderFactory;
+import javax.swing.InputMap;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.KeyStroke;
+
+import edu.wm.cs.cs301.f2024.wordle.model.Hint;
+
+/**
+ * The HintDialog class is a dialog that displays the best next guesses, ranked by
+ * the information each is expected to give about the remaining words.
+ */
+public class HintDialog extends JDialog {
+	/** Serialization ID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The object to close the dialog, initialized in the constructor. */
+    private final CancelAction cancelAction;
+
+    /**
+     * Constructs a HintDialog object with the specified WordleFrame and hints.
+     *
+     * @param view the WordleFrame object that this dialog is associated with
+     * @param hints the suggested guesses, best first
+     */
+    public HintDialog(WordleFrame view, List<Hint> hints) {
+        super(view.getFrame(), "Hint", true);
+        this.cancelAction = new CancelAction();
+
+        add(createMainPanel(hints), BorderLayout.CENTER);
+        add(createButtonPanel(), BorderLayout.SOUTH);
+
+        pack();
+        setLocationRelativeTo(view.getFrame());
+        setVisible(true);
+    }
+
+    /**
+     * Creates a panel listing each suggested guess with its expected information.
+     * Guesses that could be the answer are marked with an asterisk.
+     *
+     * @param hints the suggested guesses, best first
+     * @return a JPanel object containing the suggested guesses
+     */
+    private JPanel createMainPanel(List<Hint> hints) {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+        Font titleFont = AppFonts.getTitleFont();
+        Font textFont = AppFonts.getTextFont();
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.anchor = GridBagConstraints.CENTER;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        gbc.insets = new Insets(0, 5, 5, 30);
+
+        gbc.gridwidth = 2;
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        JLabel label = new JLabel("Best Guesses");
+        label.setFont(titleFont);
+        label.setHorizontalAlignment(JLabel.CENTER);
+        panel.add(label, gbc);
+
+        gbc.gridwidth = 1;
+        for (Hint hint : hints) {
+            gbc.gridx = 0;
+            gbc.gridy++;
+            label = new JLabel(hint.getWord().toUpperCase() + (hint.isCandidate() ? " *" : ""));
+            label.setFont(textFont);
+            panel.add(label, gbc);
+
+            gbc.gridx++;
+            label = new JLabel(String.format("%.2f bits", hint.getEntropy()));
+            label.setFont(textFont);
+            panel.add(label, gbc);
+        }
+
+        gbc.gridwidth = 2;
+        gbc.gridx = 0;
+        gbc.gridy++;
+        label = new JLabel("* could be the answer");
+        label.setFont(AppFonts.getFooterFont());
+        panel.add(label, gbc);
+
+        return panel;
+    }
+
+    /**
+     * Creates the button panel that contains a "Cancel" button
+     * for closing the dialog and checks for the Escape key
+     * to trigger the cancel action.
+     *
+     * @return the JPanel object containing the cancel button
+     */
+    private JPanel createButtonPanel() {
+        JPanel panel = new JPanel(new FlowLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+
+        InputMap inputMap = panel.getInputMap(JPanel.WHEN_IN_FOCUSED_WINDOW);
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "cancelAction");
+        ActionMap actionMap = panel.getActionMap();
+        actionMap.put("cancelAction", cancelAction);
+
+        JButton button = new JButton("Cancel");
+        button.addActionListener(cancelAction);
+        panel.add(button);
+
+        return panel;
+    }
+
+    /**
+     * The CancelAction class defines the action for closing the dialog
+     * when the user clicks the "Cancel" button or presses the Escape key.
+     */
+    private class CancelAction extends AbstractAction {
+    	/** Serialization ID. */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Closes the HintDialog when the action is performed.
+         *
+         * @param event the ActionEvent object triggered by the button click or key press
+         */
+        @Override
+        public void actionPerformed(ActionEvent event) {
+            dispose();
+        }
+
+    }
+}
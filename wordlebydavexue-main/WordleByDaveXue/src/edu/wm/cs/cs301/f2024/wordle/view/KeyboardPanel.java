@@ -1,10 +1,10 @@
 package edu.wm.cs.cs301.f2024.wordle.view;
 
-import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.event.KeyEvent;
+import java.util.Arrays;
 
 import javax.swing.ActionMap;
 import javax.swing.BorderFactory;
@@ -13,10 +13,12 @@ import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
 import edu.wm.cs.cs301.f2024.wordle.controller.KeyboardButtonAction;
-import edu.wm.cs.cs301.f2024.wordle.model.AppColors;
+import edu.wm.cs.cs301.f2024.wordle.model.TileState;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
+import edu.wm.cs.cs301.f2024.wordle.model.WordleResponse;
 
 /**
  * Represents the in-game keyboard for the Wordle game.
@@ -24,6 +26,9 @@ import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
  */
 public class KeyboardPanel {
 
+    /** The number of letters from A to Z. */
+    private static final int LETTERS = 26;
+
     /** The current index of the button, initialized in the constructor. */
     private int buttonIndex;
 
@@ -33,12 +38,21 @@ public class KeyboardPanel {
     /** An array of JButton objects representing the keyboard buttons, initialized in the constructor. */
     private final JButton[] buttons;
 
+    /** The buttons of the letters A to Z by letter, null for a letter without one, initialized in the constructor. */
+    private final JButton[] letterButtons;
+
+    /** The best state shown on each letter's button by letter, null while uncolored, initialized in the constructor. */
+    private final TileState[] letterStates;
+
     /** A JPanel object that contains the keyboard layout, initialized in the createMainPanel which is called in the constructor. */
     private final JPanel panel;
 
     /** A KeyboardButtonAction object that waits for keyboard button presses, initialized in the constructor. */
     private final KeyboardButtonAction action;
 
+    /** A JLabel object showing the number of remaining candidate words, initialized in the createTotalPanel method. */
+    private JLabel remainingLabel;
+
     /** A WordleModel object that contains the game's state and logic, initialized in the constructor. */
     private final WordleModel model;
 
@@ -55,6 +69,45 @@ public class KeyboardPanel {
         this.buttons = new JButton[buttonCount];
         this.action = new KeyboardButtonAction(view, model);
         this.panel = createMainPanel();
+        this.letterButtons = indexLetterButtons();
+        this.letterStates = new TileState[LETTERS];
+    }
+
+    /**
+     * Indexes the buttons of the letters A to Z by letter, so a letter's button is
+     * found without a search of every button.
+     *
+     * @return The buttons by letter, with null for a letter without a button.
+     */
+    private JButton[] indexLetterButtons() {
+        JButton[] letterButtons = new JButton[LETTERS];
+        for (JButton button : buttons) {
+            int index = getLetterIndex(button.getActionCommand());
+            if (index >= 0) {
+                letterButtons[index] = button;
+            }
+        }
+        return letterButtons;
+    }
+
+    /**
+     * Gets the index of a single letter from A to Z.
+     *
+     * @param text The action command of a button.
+     * @return The index of the letter from 0, or -1 if the text is not a single letter from A to Z.
+     */
+    private static int getLetterIndex(String text) {
+        return text.length() == 1 ? getLetterIndex(text.charAt(0)) : -1;
+    }
+
+    /**
+     * Gets the index of a letter from A to Z.
+     *
+     * @param c The letter.
+     * @return The index of the letter from 0, or -1 if it is not a letter from A to Z.
+     */
+    private static int getLetterIndex(char c) {
+        return c >= 'A' && c <= 'Z' ? c - 'A' : -1;
     }
 
     /**
@@ -192,6 +245,8 @@ public class KeyboardPanel {
 
     /**
      * Creates a panel object showing the total possible word count and the number of columns.
+     * A placeholder is shown while the word list is loading, and replaced on the EDT 
+     * once the load finishes. The number of remaining candidate words is shown next to it.
      *
      * @return A JPanel object displaying the word count summary.
      */
@@ -200,37 +255,57 @@ public class KeyboardPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 5));
         Font footerFont = AppFonts.getFooterFont();
 
-        String text = String.format("%,d", model.getTotalWordCount());
-        text += " possible " + model.getColumnCount() + "-letter words!";
-        JLabel label = new JLabel(text);
+        JLabel label = new JLabel("Loading " + model.getColumnCount() + "-letter words...");
         label.setFont(footerFont);
         panel.add(label);
 
+        this.remainingLabel = new JLabel();
+        remainingLabel.setFont(footerFont);
+        panel.add(remainingLabel);
+
+        model.whenWordListLoaded().thenAcceptAsync(wordList -> {
+            String text = String.format("%,d", model.getTotalWordCount());
+            text += " possible " + model.getColumnCount() + "-letter words!";
+            label.setText(text);
+            updateRemainingCount();
+        }, SwingUtilities::invokeLater);
+
         return panel;
     }
 
     /**
-     * Sets the color of the button corresponding to the given letter.
+     * Colors the buttons of the letters of a scored row. A button keeps the best state
+     * any row has shown for its letter, where CORRECT beats PRESENT and PRESENT beats
+     * ABSENT, so only buttons whose state improves are changed. All the changes are
+     * made in one call on the EDT, so Swing paints them together in one pass.
      *
-     * @param letter The letter.
-     * @param backgroundColor The background color.
-     * @param foregroundColor The foreground text color.
+     * @param row The responses of the row; empty cells may be null, and pending ones are skipped.
      */
-    public void setColor(String letter, Color backgroundColor, Color foregroundColor) {
-        for (JButton button : buttons) {
-            if (button.getActionCommand().equals(letter)) {
-                Color color = button.getBackground();
-                if (color.equals(AppColors.GREEN)) {
-                    // Do nothing
-                } else if (color.equals(AppColors.YELLOW) && backgroundColor.equals(AppColors.GREEN)) {
-                    button.setBackground(backgroundColor);
-                    button.setForeground(foregroundColor);
-                } else {
-                    button.setBackground(backgroundColor);
-                    button.setForeground(foregroundColor);
-                }
-                break;
+    public void setColors(WordleResponse[] row) {
+        for (WordleResponse response : row) {
+            if (response == null || response.getState() == TileState.PENDING) {
+                continue;
+            }
+            int index = getLetterIndex(response.getChar());
+            if (index < 0 || letterButtons[index] == null) {
+                continue;
             }
+            TileState state = response.getState();
+            TileState current = letterStates[index];
+            if (current == null || state.ordinal() > current.ordinal()) {
+                letterStates[index] = state;
+                letterButtons[index].setBackground(AppColors.getBackgroundColor(state));
+                letterButtons[index].setForeground(AppColors.getForegroundColor(state));
+            }
+        }
+    }
+
+    /**
+     * Updates the label showing how many words are still consistent with the submitted rows.
+     */
+    public void updateRemainingCount() {
+        if (model.isWordListLoaded()) {
+            remainingLabel.setText(String.format("(%,d words remaining)", model.getRemainingWordCount()));
         }
     }
 
@@ -238,6 +313,7 @@ public class KeyboardPanel {
      * Resets all button colors to their default values.
      */
     public void resetDefaultColors() {
+        Arrays.fill(letterStates, null);
         for (JButton button : buttons) {
             button.setBackground(null);
             button.setForeground(null);
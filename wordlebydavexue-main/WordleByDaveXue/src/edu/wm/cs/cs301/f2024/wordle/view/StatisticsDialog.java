@@ -7,7 +7,6 @@ import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
-import java.util.List;
 
 import javax.swing.AbstractAction;
 import javax.swing.ActionMap;
@@ -18,19 +17,25 @@ import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
 import javax.swing.KeyStroke;
 
+import edu.wm.cs.cs301.f2024.wordle.model.StatisticsWindow;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
 
 /**
  * The StatisticsDialog class is a dialog that displays statistics about the player's performance in the Wordle game.
  * It includes information like the number of games played, win percentage, current streak, and longest streak,
- * and a guess distribution chart.
+ * and a guess distribution chart, with a tab for each window of recent days that adds
+ * the average guesses and the median and 90th percentile solve times.
  */
 public class StatisticsDialog extends JDialog {
 
     private static final long serialVersionUID = 1L;
 
+    /** The windows of recent days that get a tab, in days. */
+    private static final int[] WINDOW_DAYS = { 7, 30, 365 };
+
     /** An object that handles the action when the user decides to exit the game, initialized in the constructor. */
     private final ExitAction exitAction;
 
@@ -56,7 +61,7 @@ public class StatisticsDialog extends JDialog {
         this.exitAction = new ExitAction();
         this.nextAction = new NextAction();
 
-        add(createMainPanel(), BorderLayout.NORTH);
+        add(createTabbedPane(), BorderLayout.NORTH);
         add(createButtonPanel(), BorderLayout.SOUTH);
 
         pack();
@@ -64,6 +69,66 @@ public class StatisticsDialog extends JDialog {
         setVisible(true);
     }
 
+    /**
+     * Creates the tabbed pane with the lifetime statistics on the first tab and a tab 
+     * for each window of recent days.
+     * 
+     * @return JTabbedPane with the statistics tabs
+     */
+    private JTabbedPane createTabbedPane() {
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("All Time", createMainPanel());
+        for (int days : WINDOW_DAYS) {
+            tabbedPane.addTab(days + " Days", createWindowPanel(model.getStatistics().getWindow(days)));
+        }
+        return tabbedPane;
+    }
+
+    /**
+     * Creates the panel of a window of recent days: the title, then the games played, 
+     * the win percentage, the average guesses and the solve times.
+     * 
+     * @param window the statistics of the window
+     * @return JPanel with the statistics of the window
+     */
+    private JPanel createWindowPanel(StatisticsWindow window) {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+
+        JPanel titlePanel = new JPanel(new FlowLayout());
+        titlePanel.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+        JLabel label = new JLabel("Last " + window.getDays() + " Days");
+        label.setFont(AppFonts.getTitleFont());
+        titlePanel.add(label);
+        panel.add(titlePanel, BorderLayout.NORTH);
+
+        JPanel summaryPanel = new JPanel(new GridLayout(0, 5));
+        summaryPanel.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+        String averageGuesses = window.getGamesWon() == 0 ? "-" : String.format("%.1f", window.getAverageGuesses());
+        summaryPanel.add(createStatisticsPanel(String.format("%,d", window.getGamesPlayed()), "Played", ""));
+        summaryPanel.add(createStatisticsPanel(String.format("%,d", window.getWinPercentage()), "Win %", ""));
+        summaryPanel.add(createStatisticsPanel(averageGuesses, "Average", "Guesses"));
+        summaryPanel.add(createStatisticsPanel(formatSeconds(window.getMedianSolveSeconds()), "Median", "Time"));
+        summaryPanel.add(createStatisticsPanel(formatSeconds(window.getP90SolveSeconds()), "90th Percentile", "Time"));
+        panel.add(summaryPanel, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    /**
+     * Formats a solve time as minutes and seconds.
+     * 
+     * @param seconds the solve time in seconds, or a negative number if unknown
+     * @return the time as m:ss, or a dash if unknown
+     */
+    private String formatSeconds(double seconds) {
+        if (seconds < 0) {
+            return "-";
+        }
+        long rounded = Math.round(seconds);
+        return String.format("%d:%02d", rounded / 60, rounded % 60);
+    }
+
     /**
      * Creates the main panel that holds the top and bottom panels of the statistics dialog.
      * 
@@ -154,8 +219,7 @@ public class StatisticsDialog extends JDialog {
         int totalGamesPlayed = model.getStatistics().getTotalGamesPlayed();
         int currentStreak = model.getStatistics().getCurrentStreak();
         int longestStreak = model.getStatistics().getLongestStreak();
-        List<Integer> wordsGuessed = model.getStatistics().getWordsGuessed();
-        int percent = (wordsGuessed.size() * 1000 + 5) / (totalGamesPlayed * 10);
+        int percent = model.getStatistics().getWinPercentage();
 
         panel.add(createStatisticsPanel(totalGamesPlayed, "Played", ""));
         panel.add(createStatisticsPanel(percent, "Win %", ""));
@@ -174,12 +238,25 @@ public class StatisticsDialog extends JDialog {
      * @return JPanel displaying the statistic and text
      */
     private JPanel createStatisticsPanel(int value, String line1, String line2) {
+        return createStatisticsPanel(String.format("%,d", value), line1, line2);
+    }
+
+    /**
+     * Creates a panel to display a single statistic, already formatted, with two text 
+     * lines below the value.
+     * 
+     * @param value the formatted value to display
+     * @param line1 the first line of text below the value
+     * @param line2 the second line of text below the value
+     * @return JPanel displaying the statistic and text
+     */
+    private JPanel createStatisticsPanel(String value, String line1, String line2) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
         Font textFont = AppFonts.getTextFont();
 
-        JLabel valueLabel = new JLabel(String.format("%,d", value));
+        JLabel valueLabel = new JLabel(value);
         valueLabel.setFont(AppFonts.getTitleFont());
         valueLabel.setAlignmentX(CENTER_ALIGNMENT);
         panel.add(valueLabel);
@@ -267,6 +344,7 @@ public class StatisticsDialog extends JDialog {
             model.initialize();
             view.repaintWordleGridPanel();
             view.resetDefaultColors();
+            view.updateRemainingCount();
         }
     }
 }
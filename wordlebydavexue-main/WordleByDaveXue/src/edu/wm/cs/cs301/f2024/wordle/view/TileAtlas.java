@@ -0,0 +1,199 @@
+package edu.wm.cs.cs301.f2024.wordle.view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import edu.wm.cs.cs301.f2024.wordle.model.TileState;
+
+/**
+ * A cache of the grid's tiles, pre-rendered into images so painting a tile is one
+ * blit instead of a fill, a text measurement and antialiased text rendering.
+ *
+ * There is one image for the empty tile and one for each letter from A to Z in each
+ * TileState. Each image is rendered on first use at the scale of the screen it is
+ * painted on, in an image compatible with that screen, with the tile's outline and
+ * the background around it, so tiles are copied opaque. The cache is dropped and
+ * rebuilt when the scale, the background or any of the AppColors changes. Other
+ * letters are painted directly.
+ */
+final class TileAtlas {
+
+	/** The number of letters with images, A to Z. */
+	private static final int LETTERS = 26;
+
+	/** The stroke of the tile outlines. */
+	private static final BasicStroke OUTLINE_STROKE = new BasicStroke(3f);
+
+	/** How far an outline reaches outside its tile, in pixels. */
+	static final int OUTLINE_OVERHANG = 2;
+
+	/** The width and height of a tile without its outline, initialized in the constructor. */
+	private final int size;
+
+	/** The font of the letters, initialized in the constructor. */
+	private final Font font;
+
+	/** The images by index, null until rendered; index 0 is the empty tile. */
+	private BufferedImage[] tiles;
+
+	/** The letter being drawn directly, reused so drawing a letter does not allocate. */
+	private final char[] letter = new char[1];
+
+	/** The horizontal scale the images were rendered at. */
+	private double scaleX;
+
+	/** The vertical scale the images were rendered at. */
+	private double scaleY;
+
+	/** The colors the images were rendered with: background, outline, gray, yellow and green. */
+	private final Color[] colors = new Color[5];
+
+	/** The metrics of the font, measured by the first paint. */
+	private FontMetrics metrics;
+
+	/**
+	 * Constructs an empty TileAtlas.
+	 *
+	 * @param size The width and height of a tile without its outline.
+	 * @param font The font of the letters.
+	 */
+	TileAtlas(int size, Font font) {
+		this.size = size;
+		this.font = font;
+		this.tiles = new BufferedImage[1 + TileState.values().length * LETTERS];
+	}
+
+	/**
+	 * Draws a tile with its outline.
+	 *
+	 * @param g2d The graphics to draw with.
+	 * @param background The background around the tile.
+	 * @param x The left of the tile, without its outline.
+	 * @param y The top of the tile, without its outline.
+	 * @param c The letter, or '\0' for an empty tile.
+	 * @param state The state of the tile, ignored for an empty tile.
+	 */
+	void draw(Graphics2D g2d, Color background, int x, int y, char c,
+			TileState state) {
+		if (c != '\0' && (c < 'A' || c > 'Z')) {
+			paintTile(g2d, x, y, c, state);
+			return;
+		}
+
+		validate(g2d, background);
+		int index = c == '\0' ? 0 : 1 + state.ordinal() * LETTERS + (c - 'A');
+		BufferedImage tile = tiles[index];
+		if (tile == null) {
+			tile = render(g2d.getDeviceConfiguration(), background, c, state);
+			tiles[index] = tile;
+		}
+		int extent = size + 2 * OUTLINE_OVERHANG;
+		g2d.drawImage(tile, x - OUTLINE_OVERHANG, y - OUTLINE_OVERHANG, extent,
+				extent, null);
+	}
+
+	/**
+	 * Drops the images if the scale of the graphics or the colors changed since
+	 * they were rendered.
+	 *
+	 * @param g2d The graphics the tiles are drawn with.
+	 * @param background The background around the tiles.
+	 */
+	private void validate(Graphics2D g2d, Color background) {
+		AffineTransform transform = g2d.getTransform();
+		if (transform.getScaleX() != scaleX || transform.getScaleY() != scaleY
+				|| colors[0] != background || colors[1] != AppColors.OUTLINE
+				|| colors[2] != AppColors.GRAY || colors[3] != AppColors.YELLOW
+				|| colors[4] != AppColors.GREEN) {
+			scaleX = transform.getScaleX();
+			scaleY = transform.getScaleY();
+			colors[0] = background;
+			colors[1] = AppColors.OUTLINE;
+			colors[2] = AppColors.GRAY;
+			colors[3] = AppColors.YELLOW;
+			colors[4] = AppColors.GREEN;
+			tiles = new BufferedImage[tiles.length];
+		}
+	}
+
+	/**
+	 * Renders the image of a tile with its outline on the background, at the current scale.
+	 *
+	 * @param configuration The configuration of the screen the tile is drawn on.
+	 * @param background The background around the tile.
+	 * @param c The letter, or '\0' for an empty tile.
+	 * @param state The state of the tile.
+	 * @return The image.
+	 */
+	private BufferedImage render(GraphicsConfiguration configuration,
+			Color background, char c, TileState state) {
+		int extent = size + 2 * OUTLINE_OVERHANG;
+		int width = (int) Math.ceil(extent * scaleX);
+		int height = (int) Math.ceil(extent * scaleY);
+		BufferedImage image = configuration == null
+				? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+				: configuration.createCompatibleImage(width, height,
+						Transparency.OPAQUE);
+
+		Graphics2D g2d = image.createGraphics();
+		try {
+			g2d.scale(scaleX, scaleY);
+			g2d.setColor(background);
+			g2d.fillRect(0, 0, extent, extent);
+			paintTile(g2d, OUTLINE_OVERHANG, OUTLINE_OVERHANG, c, state);
+		} finally {
+			g2d.dispose();
+		}
+		return image;
+	}
+
+	/**
+	 * Paints a tile with its outline directly.
+	 *
+	 * @param g2d The graphics to paint with.
+	 * @param x The left of the tile, without its outline.
+	 * @param y The top of the tile, without its outline.
+	 * @param c The letter, or '\0' for an empty tile.
+	 * @param state The state of the tile.
+	 */
+	private void paintTile(Graphics2D g2d, int x, int y, char c,
+			TileState state) {
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+				RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+		int left = x + 1;
+		int top = y + 1;
+		int right = x + size - 1;
+		int bottom = y + size - 1;
+		g2d.setColor(AppColors.OUTLINE);
+		g2d.setStroke(OUTLINE_STROKE);
+		g2d.drawLine(left, top, right, top);
+		g2d.drawLine(left, bottom, right, bottom);
+		g2d.drawLine(left, top, left, bottom);
+		g2d.drawLine(right, top, right, bottom);
+
+		if (c == '\0') {
+			return;
+		}
+		g2d.setColor(AppColors.getBackgroundColor(state));
+		g2d.fillRect(x, y, size, size);
+		g2d.setColor(AppColors.getForegroundColor(state));
+		if (metrics == null) {
+			metrics = g2d.getFontMetrics(font);
+		}
+		letter[0] = c;
+		g2d.setFont(font);
+		g2d.drawChars(letter, 0, 1, x + (size - metrics.charWidth(c)) / 2,
+				y + ((size - metrics.getHeight()) / 2) + metrics.getAscent());
+	}
+}
@@ -1,12 +1,22 @@
 package edu.wm.cs.cs301.f2024.wordle.view;
 
 import java.awt.BorderLayout;
-import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.AbstractAction;
 import javax.swing.ActionMap;
@@ -17,10 +27,16 @@ import javax.swing.JLabel;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 
+import edu.wm.cs.cs301.f2024.wordle.model.EventLog;
+import edu.wm.cs.cs301.f2024.wordle.model.GameSnapshot;
+import edu.wm.cs.cs301.f2024.wordle.model.Hint;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
+import edu.wm.cs.cs301.f2024.wordle.model.WordleResponse;
 
 /**
  * WordleFrame is the main frame for the Wordle game GUI. It creates the game
@@ -29,6 +45,9 @@ import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
  */
 public class WordleFrame {
 
+    /** The longest time shutdown waits for the statistics to reach the disk, in milliseconds. */
+    private static final long SHUTDOWN_FLUSH_MILLIS = 2000;
+
     /** The JFrame for the Wordle game window. */
     private final JFrame frame;
     
@@ -41,10 +60,17 @@ public class WordleFrame {
     /** The WordleGridPanel object that represents the Wordle grid, initialized in the constructor. */
     private final WordleGridPanel wordleGridPanel;
 
+    /** Set to cancel the hint being computed, if any, initialized by the requestHint method. */
+    private AtomicBoolean hintCancelled;
+
+    /** The ranking of the last hint requested, waited for on shutdown, initialized by the requestHint method. */
+    private CompletableFuture<?> hintRanking;
+
     /**
      * Constructs a WordleFrame using the specified Wordle model. It initializes
      * the frame, keyboard panel, and wordle grid, and then sets up and shows the
-     * GUI.
+     * GUI. The game saved at the last shutdown, if any, is restored once the word 
+     * list has loaded.
      * 
      * @param model the WordleModel that contains the game logic and state
      */
@@ -54,6 +80,34 @@ public class WordleFrame {
         int width = keyboardPanel.getPanel().getPreferredSize().width;
         this.wordleGridPanel = new WordleGridPanel(this, model, width);
         this.frame = createAndShowGUI();
+        model.whenWordListLoaded().thenAcceptAsync(wordList -> restoreGame(), SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Restores the game saved at the last shutdown, unless the player has already 
+     * started typing, and colors the keyboard for its submitted rows.
+     */
+    private void restoreGame() {
+        if (model.getCurrentRowNumber() >= 0 || model.getCurrentColumn() >= 0) {
+            return;
+        }
+
+        try {
+            byte[] snapshot = GameSnapshot.read(GameSnapshot.getDefaultPath());
+            if (snapshot == null || !GameSnapshot.restore(snapshot, model)) {
+                return;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        WordleResponse[][] grid = model.getWordleGrid();
+        for (int row = 0; row <= model.getCurrentRowNumber(); row++) {
+            setColors(grid[row]);
+        }
+        updateRemainingCount();
+        repaintWordleGridPanel();
     }
 
     /**
@@ -82,14 +136,12 @@ public class WordleFrame {
         frame.setLocationByPlatform(true);
         frame.setVisible(true);
 
-        System.out.println("Frame size: " + frame.getSize());
-
         return frame;
     }
 
     /**
-     * Creates the menu bar for the game, which includes options for viewing
-     * instructions and "about" information.
+     * Creates the menu bar for the game, which includes options for asking 
+     * for a hint and viewing instructions and "about" information.
      * 
      * @return the JMenuBar object containing the Help menu
      */
@@ -99,6 +151,10 @@ public class WordleFrame {
         JMenu helpMenu = new JMenu("Help");
         menuBar.add(helpMenu);
 
+        JMenuItem hintItem = new JMenuItem("Hint...");
+        hintItem.addActionListener(event -> requestHint());
+        helpMenu.add(hintItem);
+
         JMenuItem instructionsItem = new JMenuItem("Instructions...");
         instructionsItem.addActionListener(event -> new InstructionsDialog(this));
         helpMenu.add(instructionsItem);
@@ -110,6 +166,48 @@ public class WordleFrame {
         return menuBar;
     }
 
+    /**
+     * Starts ranking the best next guesses off the EDT and shows them in a 
+     * HintDialog when done. Any hint still being computed is cancelled first, 
+     * and the result is dropped if the player types before it arrives.
+     */
+    private void requestHint() {
+        if (!model.isWordListLoaded()) {
+            return;
+        }
+
+        cancelHint();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        this.hintCancelled = cancelled;
+
+        CompletableFuture<List<Hint>> ranking = model.suggestGuesses(5, cancelled::get);
+        this.hintRanking = ranking;
+        ranking.whenCompleteAsync((hints, error) -> {
+            if (cancelled.get()) {
+                return;
+            }
+            hintCancelled = null;
+            if (error == null) {
+                new HintDialog(this, hints);
+            } else if (!(error instanceof CancellationException 
+                    || error.getCause() instanceof CancellationException)) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                JOptionPane.showMessageDialog(frame, "No hint available: " + cause.getMessage(),
+                        "Hint", JOptionPane.ERROR_MESSAGE);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Cancels the hint being computed, if any.
+     */
+    public void cancelHint() {
+        if (hintCancelled != null) {
+            hintCancelled.set(true);
+            hintCancelled = null;
+        }
+    }
+
     /**
      * Creates the title panel with a JLabel displaying the "Wordle" game title.
      * and sets up key bindings for handling the Escape key.
@@ -133,15 +231,64 @@ public class WordleFrame {
     }
 
     /**
-     * Shuts down the game, writing any statistics to file, disposing of the
-     * frame, and exiting the application.
+     * Shuts down the game, saving the statistics in the background and the game 
+     * in progress to file, disposing of the frame, and exiting the application 
+     * once the statistics are on the disk or SHUTDOWN_FLUSH_MILLIS have passed 
+     * and the event log is written. Every finished game is already in the journal by then.
+     * A hint still being computed is cancelled, and its ranking is given up to 
+     * SHUTDOWN_FLUSH_MILLIS to stop, so a feedback matrix being computed for it deletes 
+     * its temporary file before the application exits.
      */
     public void shutdown() {
-        model.getStatistics().writeStatistics();
+        cancelHint();
+        model.getStatistics().saveStatistics();
+        saveGame();
         frame.dispose();
+        awaitHintRanking();
+        if (!model.getStatistics().flush(SHUTDOWN_FLUSH_MILLIS, TimeUnit.MILLISECONDS)) {
+            System.err.println("The statistics were not saved within " + SHUTDOWN_FLUSH_MILLIS + " ms");
+        }
+        EventLog.getDefault().close();
         System.exit(0);
     }
 
+    /**
+     * Waits up to SHUTDOWN_FLUSH_MILLIS for the ranking of the last hint to finish or 
+     * stop after its cancellation.
+     */
+    private void awaitHintRanking() {
+        if (hintRanking == null) {
+            return;
+        }
+        try {
+            hintRanking.get(SHUTDOWN_FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            // The ranking stopped, which is all shutdown waits for
+        } catch (TimeoutException e) {
+            System.err.println("The hint did not stop within " + SHUTDOWN_FLUSH_MILLIS + " ms");
+        }
+    }
+
+    /**
+     * Saves the game in progress so the next start can restore it, or removes 
+     * the saved game if there is no game in progress.
+     */
+    private void saveGame() {
+        Path path = GameSnapshot.getDefaultPath();
+        boolean started = model.getCurrentRowNumber() >= 0 || model.getCurrentColumn() >= 0;
+        try {
+            if (model.isWordListLoaded() && started && !model.isGameOver()) {
+                GameSnapshot.write(path, GameSnapshot.save(model));
+            } else {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * Resets the colors of the on-screen keyboard to the default colors.
      */
@@ -150,21 +297,26 @@ public class WordleFrame {
     }
 
     /**
-     * Sets the color of a specific letter.
+     * Updates the on-screen count of words that are still consistent with the submitted rows.
+     */
+    public void updateRemainingCount() {
+        keyboardPanel.updateRemainingCount();
+    }
+
+    /**
+     * Colors the keys of the on-screen keyboard for the letters of a scored row.
      * 
-     * @param letter the letter to change color for
-     * @param backgroundColor the background color to set
-     * @param foregroundColor the foreground color to set
+     * @param row the responses of the row
      */
-    public void setColor(String letter, Color backgroundColor, Color foregroundColor) {
-        keyboardPanel.setColor(letter, backgroundColor, foregroundColor);
+    public void setColors(WordleResponse[] row) {
+        keyboardPanel.setColors(row);
     }
 
     /**
-     * Repaints the Wordle grid panel to reflect the current state of the game.
+     * Repaints the cells of the Wordle grid panel that changed, to reflect the current state of the game.
      */
     public void repaintWordleGridPanel() {
-        wordleGridPanel.repaint();
+        wordleGridPanel.repaintDirtyCells();
     }
 
     /**
@@ -1,27 +1,30 @@
 package edu.wm.cs.cs301.f2024.wordle.view;
 
-import java.awt.BasicStroke;
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.Rectangle;
-import java.awt.RenderingHints;
 
 import javax.swing.JPanel;
 
-import edu.wm.cs.cs301.f2024.wordle.model.AppColors;
+import edu.wm.cs.cs301.f2024.wordle.model.FlightEvents;
+import edu.wm.cs.cs301.f2024.wordle.model.Metrics;
+import edu.wm.cs.cs301.f2024.wordle.model.TileState;
 import edu.wm.cs.cs301.f2024.wordle.model.WordleModel;
-import edu.wm.cs.cs301.f2024.wordle.model.WordleResponse;
 
 public class WordleGridPanel extends JPanel {
 
 	private static final long serialVersionUID = 1L;
 
+	/** How far an outline reaches outside its tile, in pixels. */
+	private static final int OUTLINE_OVERHANG = TileAtlas.OUTLINE_OVERHANG;
+
 	private final int topMargin, leftMargin, letterWidth;
 
+	/** The pre-rendered tiles the grid is drawn from, initialized in the constructor. */
+	private final transient TileAtlas tiles;
+
 	private final Insets insets;
 
 	private final Rectangle[][] grid;
@@ -33,6 +36,7 @@ public class WordleGridPanel extends JPanel {
 		this.topMargin = 0;
 		this.letterWidth = 64;
 		this.insets = new Insets(0, 6, 6, 6);
+		this.tiles = new TileAtlas(letterWidth, AppFonts.getTitleFont());
 
 		int wordWidth = (letterWidth + insets.right) * model.getColumnCount();
 		this.leftMargin = (width - wordWidth) / 2;
@@ -63,68 +67,50 @@ public class WordleGridPanel extends JPanel {
 		return grid;
 	}
 
+	/**
+	 * Repaints only the cells the model changed since the last repaint, each with its
+	 * outline, instead of the whole grid.
+	 */
+	public void repaintDirtyCells() {
+		int columns = model.getColumnCount();
+		for (int cell = model.nextDirtyCell(0); cell >= 0; cell = model
+				.nextDirtyCell(cell + 1)) {
+			Rectangle r = grid[cell / columns][cell % columns];
+			repaint(r.x - OUTLINE_OVERHANG, r.y - OUTLINE_OVERHANG,
+					r.width + 2 * OUTLINE_OVERHANG, r.height + 2 * OUTLINE_OVERHANG);
+		}
+		model.clearDirtyCells();
+	}
+
 	@Override
 	protected void paintComponent(Graphics g) {
+		FlightEvents.GridPaint event = new FlightEvents.GridPaint();
+		event.begin();
 		super.paintComponent(g);
 
 		Graphics2D g2d = (Graphics2D) g;
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
-		g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
-				RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-
-		Font titleFont = AppFonts.getTitleFont();
-		WordleResponse[][] wordleGrid = model.getWordleGrid();
+		Rectangle clip = g.getClipBounds();
 		for (int row = 0; row < grid.length; row++) {
 			for (int column = 0; column < grid[row].length; column++) {
 				Rectangle r = grid[row][column];
-				WordleResponse wordleResponse = wordleGrid[row][column];
-				drawOutline(g2d, r);
-				drawWordleResponse(g2d, wordleResponse, r, titleFont);
+				if (clip != null && !clip.intersects(r.x - OUTLINE_OVERHANG,
+						r.y - OUTLINE_OVERHANG, r.width + 2 * OUTLINE_OVERHANG,
+						r.height + 2 * OUTLINE_OVERHANG)) {
+					continue;
+				}
+				char c = model.getLetter(row, column);
+				TileState state = c == '\0' ? null
+						: model.getTileState(row, column);
+				tiles.draw(g2d, getBackground(), r.x, r.y, c, state);
 			}
 		}
-	}
-
-	private void drawOutline(Graphics2D g2d, Rectangle r) {
-		int x = r.x + 1;
-		int y = r.y + 1;
-		int width = r.width - 2;
-		int height = r.height - 2;
-		g2d.setColor(AppColors.OUTLINE);
-		g2d.setStroke(new BasicStroke(3f));
-		g2d.drawLine(x, y, x + width, y);
-		g2d.drawLine(x, y + height, x + width, y + height);
-		g2d.drawLine(x, y, x, y + height);
-		g2d.drawLine(x + width, y, x + width, y + height);
-	}
 
-	private void drawWordleResponse(Graphics2D g2d,
-			WordleResponse wordleResponse, Rectangle r, Font titleFont) {
-		if (wordleResponse != null) {
-			g2d.setColor(wordleResponse.getBackgroundColor());
-			g2d.fillRect(r.x, r.y, r.width, r.height);
-			g2d.setColor(wordleResponse.getForegroundColor());
-			drawCenteredString(g2d,
-					Character.toString(wordleResponse.getChar()), r, titleFont);
+		if (clip != null) {
+			event.clipWidth = clip.width;
+			event.clipHeight = clip.height;
 		}
-	}
-
-	/**
-	 * Draw a String centered in the middle of a Rectangle.
-	 *
-	 * @param g    The Graphics instance.
-	 * @param text The String to draw.
-	 * @param rect The Rectangle to center the text in.
-	 */
-	private void drawCenteredString(Graphics2D g2d, String text, Rectangle rect,
-			Font font) {
-		FontMetrics metrics = g2d.getFontMetrics(font);
-		int x = rect.x + (rect.width - metrics.stringWidth(text)) / 2;
-		int y = rect.y + ((rect.height - metrics.getHeight()) / 2)
-				+ metrics.getAscent();
-
-		g2d.setFont(font);
-		g2d.drawString(text, x, y);
+		event.commit();
+		Metrics.getDefault().recordRepaint();
 	}
 
 }
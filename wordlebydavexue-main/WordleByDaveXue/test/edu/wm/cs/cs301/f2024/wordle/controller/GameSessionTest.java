@@ -0,0 +1,88 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wm.cs.cs301.f2024.wordle.model.CandidateIndex;
+import edu.wm.cs.cs301.f2024.wordle.model.ConcurrentStatistics;
+
+public class GameSessionTest {
+
+    private final List<String> words = Arrays.asList("HELLO");
+
+    private final CandidateIndex index = new CandidateIndex(words);
+
+    private ConcurrentStatistics totals;
+
+    private GameSession session;
+
+    @BeforeEach
+    public void setUp() {
+        totals = new ConcurrentStatistics(6);
+        session = new GameSession("abc", words, index, null, null, totals);
+    }
+
+    private String type(String word) {
+        String state = null;
+        for (char c : word.toCharArray()) {
+            state = session.type(c);
+        }
+        return state;
+    }
+
+    @Test
+    public void testWinningRowEndsTheGame() {
+        type("hello");
+        String state = session.submit();
+
+        assertTrue(state.contains("\"status\":\"won\""), state);
+        assertTrue(state.contains("\"states\":\"CCCCC\""), state);
+        assertEquals(1, totals.getSnapshot().getGamesWon());
+        assertThrows(IllegalStateException.class, () -> session.type('A'));
+    }
+
+    @Test
+    public void testRejectsPartialRow() {
+        type("HEL");
+        assertThrows(IllegalStateException.class, () -> session.submit());
+        assertTrue(session.backspace().contains("\"column\":2"));
+    }
+
+    @Test
+    public void testNewGameCountsUnfinishedGameAsLost() {
+        type("HELLO");
+        session.submit();
+        String state = session.newGame();
+
+        assertTrue(state.contains("\"status\":\"playing\""), state);
+        assertTrue(session.getStatistics().startsWith("{\"gamesPlayed\":1,\"gamesWon\":1"));
+    }
+
+    @Test
+    public void testSuspendAndResume() throws IOException {
+        type("HEL");
+        Path file = Files.createTempDirectory("sessions").resolve("abc.session");
+
+        assertFalse(session.suspend(file, Long.MAX_VALUE));
+        assertTrue(session.suspend(file, Long.MIN_VALUE));
+        assertThrows(GameSession.EvictedException.class, () -> session.getState());
+
+        GameSession resumed = GameSession.resume("abc", Files.readAllBytes(file), words, index, null, totals);
+        assertNotNull(resumed);
+        assertTrue(resumed.getState().contains("\"letters\":\"HEL  \""), resumed.getState());
+        assertTrue(resumed.getState().contains("\"status\":\"playing\""));
+    }
+
+    @Test
+    public void testResumeRejectsDamagedFile() {
+        assertNull(GameSession.resume("abc", new byte[] {3, 1}, words, index, null, totals));
+    }
+}
@@ -0,0 +1,145 @@
+package edu.wm.cs.cs301.f2024.wordle.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WordleServerTest {
+
+    private Path directory;
+
+    private WordleServer server;
+
+    private int status;
+
+    private String body;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sessions");
+        server = new WordleServer(Arrays.asList("HELLO", "CRANE"), 10, directory, 300, null);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    private HttpURLConnection connect(String method, String path) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+
+    private void request(String method, String path) throws IOException {
+        HttpURLConnection connection = connect(method, path);
+        status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            body = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String startGame() throws IOException {
+        request("POST", "/games");
+        assertEquals(201, status);
+        return body.substring("{\"id\":\"".length(), body.indexOf('"', "{\"id\":\"".length()));
+    }
+
+    @Test
+    public void testPlaysARow() throws IOException {
+        String id = startGame();
+        for (char c : "crane".toCharArray()) {
+            request("POST", "/games/" + id + "/letter/" + c);
+            assertEquals(200, status);
+        }
+        request("POST", "/games/" + id + "/submit");
+        assertEquals(200, status);
+        assertTrue(body.contains("\"row\":1"), body);
+
+        request("GET", "/stats");
+        assertEquals(200, status);
+    }
+
+    @Test
+    public void testAnswersClientErrors() throws IOException {
+        String id = startGame();
+
+        request("GET", "/games/ffff");
+        assertEquals(404, status);
+        request("GET", "/games/" + id + "/submit");
+        assertEquals(405, status);
+        request("POST", "/games/" + id + "/letter/1");
+        assertEquals(400, status);
+        request("POST", "/games/" + id + "/submit");
+        assertEquals(409, status);
+        request("POST", "/games?player=someone");
+        assertEquals(400, status);
+    }
+
+    @Test
+    public void testAnswersUnreadableSessionWithServerError() throws IOException {
+        Files.createDirectories(directory.resolve("abc.session"));
+
+        request("GET", "/games/abc");
+        assertEquals(500, status);
+        assertTrue(body.contains("\"error\""), body);
+    }
+
+    @Test
+    public void testEscapesEchoedPathInErrors() throws IOException {
+        String id = startGame();
+
+        request("POST", "/games/" + id + "/%5C");
+        assertEquals(404, status);
+        assertEquals("{\"error\":\"No such action \\\\\"}", body);
+        request("POST", "/games/" + id + "/a%0A%22");
+        assertEquals(404, status);
+        assertEquals("{\"error\":\"No such action a\\n\\\"\"}", body);
+        request("GET", "/games/" + id + "/%01");
+        assertEquals(405, status);
+        assertTrue(body.endsWith("/\\u0001\"}"), body);
+    }
+
+    @Test
+    public void testHoldsSessionCapUnderConcurrentStarts() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int client = 0; client < 30; client++) {
+                statuses.add(clients.submit(() -> connect("POST", "/games").getResponseCode()));
+            }
+            int created = 0;
+            for (Future<Integer> future : statuses) {
+                int code = future.get();
+                assertTrue(code == 201 || code == 503, "status " + code);
+                created += code == 201 ? 1 : 0;
+            }
+            assertEquals(10, created);
+            assertEquals(10, server.getSessionCount());
+        } finally {
+            clients.shutdown();
+        }
+    }
+}
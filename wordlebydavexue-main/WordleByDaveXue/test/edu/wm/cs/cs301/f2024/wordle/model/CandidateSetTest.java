@@ -0,0 +1,71 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CandidateSetTest {
+
+    private final List<String> words = Arrays.asList("APPLE", "AMPLE", "PLANE", "HELLO", "LLAMA", "ABIDE", "SPEED");
+
+    private FeedbackScorer scorer;
+
+    private CandidateSet candidates;
+
+    @BeforeEach
+    public void setUp() {
+        scorer = new FeedbackScorer();
+        candidates = new CandidateSet(new CandidateIndex(words));
+    }
+
+    private int narrow(String guess, String answer) {
+        int code = scorer.score(guess.toCharArray(), answer.toCharArray());
+        return candidates.narrow(guess.toCharArray(), code);
+    }
+
+    @Test
+    public void testStartsWithEveryWord() {
+        assertEquals(words.size(), candidates.getCount());
+        for (int word = 0; word < words.size(); word++) {
+            assertTrue(candidates.contains(word));
+        }
+    }
+
+    @Test
+    public void testNarrowKeepsOnlyConsistentWords() {
+        narrow("PLANE", "APPLE");
+
+        for (int word = 0; word < words.size(); word++) {
+            int expected = scorer.score("PLANE".toCharArray(), "APPLE".toCharArray());
+            int actual = scorer.score("PLANE".toCharArray(), words.get(word).toCharArray());
+            assertEquals(expected == actual, candidates.contains(word), words.get(word));
+        }
+        assertTrue(candidates.contains(0));
+    }
+
+    @Test
+    public void testSolvedRowLeavesOnlyTheAnswer() {
+        assertEquals(1, narrow("HELLO", "HELLO"));
+        assertEquals(3, candidates.next(0));
+        assertEquals(-1, candidates.next(4));
+    }
+
+    @Test
+    public void testRepeatedLettersUseExactCounts() {
+        // One L of LLAMA is absent against APPLE, so only words with exactly one L remain.
+        narrow("LLAMA", "APPLE");
+        assertFalse(candidates.contains(3));
+        assertTrue(candidates.contains(0));
+    }
+
+    @Test
+    public void testResetRestoresEveryWord() {
+        narrow("SPEED", "ABIDE");
+        candidates.reset();
+        assertEquals(words.size(), candidates.getCount());
+    }
+}
@@ -0,0 +1,46 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentStatisticsTest {
+
+    @Test
+    public void testCountsGamesFromManyThreads() throws InterruptedException {
+        ConcurrentStatistics statistics = new ConcurrentStatistics(6);
+        Thread[] threads = new Thread[4];
+        for (int thread = 0; thread < threads.length; thread++) {
+            int streak = thread + 10;
+            threads[thread] = new Thread(() -> {
+                for (int game = 0; game < 10_000; game++) {
+                    statistics.recordGame(1 + game % 6, game % 5 != 0, streak);
+                }
+            });
+            threads[thread].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ConcurrentStatistics.Snapshot snapshot = statistics.getSnapshot();
+        assertEquals(40_000, snapshot.getGamesPlayed());
+        assertEquals(32_000, snapshot.getGamesWon());
+        assertEquals(80, snapshot.getWinPercentage());
+        assertEquals(13, snapshot.getLongestStreak());
+        long sum = 0;
+        for (int row = 0; row < 6; row++) {
+            sum += snapshot.getWordsGuessedCount(row);
+        }
+        assertEquals(snapshot.getGamesWon(), sum);
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        ConcurrentStatistics.Snapshot snapshot = new ConcurrentStatistics(6).getSnapshot();
+        assertEquals(0, snapshot.getGamesPlayed());
+        assertEquals(0, snapshot.getWinPercentage());
+        assertEquals(0, snapshot.getWordsGuessedCount(6));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentStatistics(6).recordGame(7, true, 1));
+    }
+}
@@ -0,0 +1,57 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wm.cs.cs301.f2024.wordle.model.EventLog.Event;
+
+public class EventLogTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("events");
+    }
+
+    @Test
+    public void testWritesEventsInOrder() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file, 16, 1 << 20, 2)) {
+            log.record(Event.GUESS_SUBMITTED, 0, 242, 17);
+            log.record(Event.GAME_WON, 1, 17, 9500);
+            assertTrue(log.flush(0, TimeUnit.MILLISECONDS));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith(" GUESS_SUBMITTED row=0 feedback=242 answer=17"));
+        assertTrue(lines.get(1).endsWith(" GAME_WON guesses=1 answer=17 millis=9500"));
+    }
+
+    @Test
+    public void testRotatesFullFiles() throws IOException {
+        Path file = directory.resolve("events.log");
+        try (EventLog log = new EventLog(file, 1024, 200, 2)) {
+            for (int index = 0; index < 100; index++) {
+                log.record(Event.APP_STARTED, 0, 0, 0);
+                if (index % 10 == 9) {
+                    log.flush(0, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        assertTrue(Files.exists(directory.resolve("events.log.1")));
+        assertTrue(Files.exists(directory.resolve("events.log.2")));
+        assertFalse(Files.exists(directory.resolve("events.log.3")));
+        assertTrue(Files.size(directory.resolve("events.log.1")) < 1024);
+    }
+}
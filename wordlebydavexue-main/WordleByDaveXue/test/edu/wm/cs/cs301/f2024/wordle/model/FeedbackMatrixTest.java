@@ -0,0 +1,69 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FeedbackMatrixTest {
+
+    private final List<String> words = Arrays.asList("APPLE", "AMPLE", "PLANE", "HELLO", "LLAMA", "SPEED", "EERIE");
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("feedback");
+    }
+
+    private List<String> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testAgreesWithScorer() throws IOException {
+        FeedbackMatrix matrix = FeedbackMatrix.load(directory, words);
+        FeedbackScorer scorer = new FeedbackScorer();
+
+        assertEquals(words.size(), matrix.getWordCount());
+        for (int guess = 0; guess < words.size(); guess++) {
+            for (int answer = 0; answer < words.size(); answer++) {
+                assertEquals(scorer.score(words.get(guess).toCharArray(), words.get(answer).toCharArray()),
+                        matrix.get(guess, answer), words.get(guess) + " against " + words.get(answer));
+            }
+        }
+    }
+
+    @Test
+    public void testReloadsSavedMatrix() throws IOException {
+        String name = "feedback-" + Long.toHexString(FeedbackMatrix.hash(words));
+        FeedbackMatrix.load(directory, words);
+        List<String> files = listFiles();
+        assertEquals(Arrays.asList(name + ".lock", name + ".matrix"), files);
+
+        FeedbackMatrix matrix = FeedbackMatrix.load(directory, words);
+        assertEquals(242, matrix.get(3, 3));
+        assertEquals(files, listFiles());
+    }
+
+    @Test
+    public void testReplacesLeftoverTemporaryFile() throws IOException {
+        String name = "feedback-" + Long.toHexString(FeedbackMatrix.hash(words));
+        Files.write(directory.resolve(name + ".tmp"), new byte[4096]);
+
+        FeedbackMatrix matrix = FeedbackMatrix.load(directory, words);
+
+        assertEquals(242, matrix.get(0, 0));
+        assertEquals(Arrays.asList(name + ".lock", name + ".matrix"), listFiles());
+    }
+}
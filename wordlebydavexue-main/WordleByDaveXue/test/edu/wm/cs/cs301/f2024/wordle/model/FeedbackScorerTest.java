@@ -0,0 +1,89 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FeedbackScorerTest {
+
+    private FeedbackScorer scorer;
+
+    @BeforeEach
+    public void setUp() {
+        scorer = new FeedbackScorer();
+    }
+
+    private int[] states(int code) {
+        int[] states = new int[5];
+        for (int column = 0; column < states.length; column++) {
+            states[column] = FeedbackScorer.getState(code, column);
+        }
+        return states;
+    }
+
+    @Test
+    public void testSolvedRow() {
+        int code = scorer.score("APPLE".toCharArray(), "APPLE".toCharArray());
+        assertEquals(FeedbackScorer.getSolvedCode(5), code);
+        assertEquals(242, code);
+    }
+
+    @Test
+    public void testNoMatches() {
+        assertEquals(0, scorer.score("BRICK".toCharArray(), "APPLE".toCharArray()));
+    }
+
+    @Test
+    public void testIgnoresCase() {
+        assertEquals(242, scorer.score("apple".toCharArray(), "APPLE".toCharArray()));
+    }
+
+    @Test
+    public void testPresentLetter() {
+        int code = scorer.score("PLANE".toCharArray(), "APPLE".toCharArray());
+        assertArrayEquals(new int[] { 1, 1, 1, 0, 2 }, states(code));
+    }
+
+    @Test
+    public void testRepeatedGuessLetterMarkedOnlyOnce() {
+        // SPEED against ABIDE: only one E is in the answer, and it is not at either guessed position.
+        int code = scorer.score("SPEED".toCharArray(), "ABIDE".toCharArray());
+        assertArrayEquals(new int[] { 0, 0, 1, 0, 1 }, states(code));
+    }
+
+    @Test
+    public void testCorrectLetterTakesPrecedenceOverPresent() {
+        // LLAMA against HELLO: both L's are present, the second A is absent.
+        int code = scorer.score("LLAMA".toCharArray(), "HELLO".toCharArray());
+        assertArrayEquals(new int[] { 1, 1, 0, 0, 0 }, states(code));
+
+        // ALLOT against HELLO: the L at column 2 is correct, so the L at column 1 is only present once.
+        code = scorer.score("ALLOT".toCharArray(), "HELLO".toCharArray());
+        assertArrayEquals(new int[] { 0, 1, 2, 1, 0 }, states(code));
+    }
+
+    @Test
+    public void testScoringIsRepeatable() {
+        int first = scorer.score("EERIE".toCharArray(), "THERE".toCharArray());
+        int second = scorer.score("EERIE".toCharArray(), "THERE".toCharArray());
+        assertEquals(first, second);
+        assertArrayEquals(new int[] { 1, 0, 1, 0, 2 }, states(first));
+    }
+
+    @Test
+    public void testLetterIndexesMatchCharacters() {
+        char[] guess = "CAN'T".toCharArray();
+        char[] answer = "DON'T".toCharArray();
+        int[] guessIndexes = new int[5];
+        int[] answerIndexes = new int[5];
+        for (int column = 0; column < 5; column++) {
+            guessIndexes[column] = FeedbackScorer.getLetterIndex(guess[column]);
+            answerIndexes[column] = FeedbackScorer.getLetterIndex(answer[column]);
+        }
+
+        assertEquals(26, FeedbackScorer.getLetterIndex('\''));
+        assertEquals(scorer.score(guess, answer), scorer.score(guessIndexes, answerIndexes));
+        assertArrayEquals(new int[] { 0, 0, 2, 2, 2 }, states(scorer.score(guess, answer)));
+    }
+}
@@ -0,0 +1,52 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class GameSimulatorTest {
+
+    private final List<String> words = Arrays.asList("HATCH", "MATCH", "PATCH", "LATCH", "BATCH", "CATCH", "WATCH",
+            "APPLE", "AMPLE", "PLANE", "HELLO", "LLAMA", "SPEED", "EERIE", "CRANE", "SLATE");
+
+    private final GameSimulator simulator = new GameSimulator(words, 6);
+
+    private long[] distribution(GameSimulator.Result result) {
+        long[] distribution = new long[7];
+        distribution[0] = result.getFailures();
+        for (int guesses = 1; guesses <= 6; guesses++) {
+            distribution[guesses] = result.getSolvedIn(guesses);
+        }
+        return distribution;
+    }
+
+    @Test
+    public void testSameSeedPlaysSameGames() throws InterruptedException {
+        GameSimulator.Result first = simulator.run(2000, 3, 42, RandomCandidateStrategy::new);
+        GameSimulator.Result second = simulator.run(2000, 3, 42, RandomCandidateStrategy::new);
+
+        assertEquals(2000, first.getGames());
+        assertArrayEquals(distribution(first), distribution(second));
+    }
+
+    @Test
+    public void testDifferentSeedPlaysDifferentGames() throws InterruptedException {
+        GameSimulator.Result first = simulator.run(2000, 3, 42, RandomCandidateStrategy::new);
+        GameSimulator.Result second = simulator.run(2000, 3, 43, RandomCandidateStrategy::new);
+
+        assertFalse(Arrays.equals(distribution(first), distribution(second)));
+    }
+
+    @Test
+    public void testFirstCandidateSolvesItsFirstWordInOneGuess() throws InterruptedException {
+        GameSimulator.Result result = new GameSimulator(Arrays.asList("HATCH"), 6).run(10, 2, 7,
+                FirstCandidateStrategy::new);
+
+        assertEquals(10, result.getSolvedIn(1));
+        assertEquals(0, result.getFailures());
+        assertEquals(0.0, result.getFailureRate(), 0.0);
+    }
+}
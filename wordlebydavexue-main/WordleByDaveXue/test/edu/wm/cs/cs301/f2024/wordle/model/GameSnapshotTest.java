@@ -0,0 +1,102 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GameSnapshotTest {
+
+    private final List<String> words = Arrays.asList("APPLE", "AMPLE", "PLANE", "HELLO", "LLAMA", "CAN'T");
+
+    private WordleModel model;
+
+    @BeforeEach
+    public void setUp() {
+        model = new WordleModel(words, Statistics.inMemory());
+        model.setCurrentWord(0);
+    }
+
+    private void type(String word) {
+        for (char c : word.toCharArray()) {
+            model.setCurrentColumn(c);
+        }
+    }
+
+    @Test
+    public void testRestoresRowsAndTypedLetters() {
+        type("PLANE");
+        model.setCurrentRow();
+        type("CAN'T");
+        model.setCurrentRow();
+        type("AM");
+        byte[] snapshot = GameSnapshot.save(model);
+        assertEquals(28, snapshot.length);
+
+        WordleModel restored = new WordleModel(words, Statistics.inMemory());
+        assertTrue(GameSnapshot.restore(snapshot, restored));
+        assertEquals(0, restored.getCurrentWordIndex());
+        assertEquals(1, restored.getCurrentRowNumber());
+        assertEquals(1, restored.getCurrentColumn());
+        assertEquals('\'', restored.getLetter(1, 3));
+        assertEquals('M', restored.getLetter(2, 1));
+        assertEquals(model.getRowCode(0), restored.getRowCode(0));
+        assertEquals(model.getRemainingWordCount(), restored.getRemainingWordCount());
+        assertArrayEquals(snapshot, GameSnapshot.save(restored));
+    }
+
+    @Test
+    public void testFullGameFitsInFortyFourBytes() {
+        for (int row = 0; row < model.getMaximumRows(); row++) {
+            type("HELLO");
+            model.setCurrentRow();
+        }
+        assertTrue(model.isGameOver());
+        assertEquals(44, GameSnapshot.save(model).length);
+    }
+
+    @Test
+    public void testRestoresElapsedTimeWithoutRecordingAgain() {
+        type("PLANE");
+        model.setCurrentRow();
+        type("A");
+        model.resumeTimer(60_000);
+        byte[] snapshot = GameSnapshot.save(model);
+
+        long gamesStarted = Metrics.getDefault().getGamesStarted();
+        long guesses = Metrics.getDefault().getGuesses();
+        WordleModel restored = new WordleModel(words, Statistics.inMemory());
+        assertTrue(GameSnapshot.restore(snapshot, restored));
+        restored.setCurrentColumn('M');
+
+        assertEquals(gamesStarted, Metrics.getDefault().getGamesStarted());
+        assertEquals(guesses, Metrics.getDefault().getGuesses());
+        assertTrue(restored.getElapsedMillis() >= 60_000);
+        assertTrue(restored.getElapsedMillis() < 70_000);
+    }
+
+    @Test
+    public void testRejectsAnotherWordList() {
+        type("PLANE");
+        model.setCurrentRow();
+        byte[] snapshot = GameSnapshot.save(model);
+
+        WordleModel other = new WordleModel(words.subList(1, words.size()), Statistics.inMemory());
+        assertFalse(GameSnapshot.restore(snapshot, other));
+        assertEquals(-1, other.getCurrentRowNumber());
+    }
+
+    @Test
+    public void testRejectsDamagedSnapshot() {
+        type("PLANE");
+        model.setCurrentRow();
+        byte[] snapshot = GameSnapshot.save(model);
+        snapshot[snapshot.length - 1] ^= 1;
+
+        assertFalse(GameSnapshot.restore(snapshot, new WordleModel(words, Statistics.inMemory())));
+        assertFalse(GameSnapshot.restore(Arrays.copyOf(snapshot, 5), new WordleModel(words, Statistics.inMemory())));
+    }
+}
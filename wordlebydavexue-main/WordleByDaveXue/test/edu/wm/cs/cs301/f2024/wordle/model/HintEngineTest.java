@@ -0,0 +1,51 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HintEngineTest {
+
+    private final List<String> words = Arrays.asList("HATCH", "MATCH", "PATCH", "LATCH", "BATCH", "PLUMB");
+
+    private HintEngine engine;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        FeedbackMatrix matrix = FeedbackMatrix.load(Files.createTempDirectory("hints"), words);
+        engine = new HintEngine(words, matrix);
+    }
+
+    @Test
+    public void testRanksMostInformativeGuessFirst() {
+        List<Hint> hints = engine.rank(new int[] {0, 1, 2, 3, 4}, 2, () -> false);
+
+        assertEquals(2, hints.size());
+        assertEquals("PLUMB", hints.get(0).getWord());
+        assertEquals(Math.log(5) / Math.log(2), hints.get(0).getEntropy(), 1e-9);
+        assertFalse(hints.get(0).isCandidate());
+        assertTrue(hints.get(1).isCandidate());
+        assertTrue(hints.get(1).getEntropy() < hints.get(0).getEntropy());
+    }
+
+    @Test
+    public void testPrefersCandidatesOnTies() {
+        List<Hint> hints = engine.rank(new int[] {0, 1}, 1, () -> false);
+
+        assertEquals(1.0, hints.get(0).getEntropy(), 1e-9);
+        assertEquals("HATCH", hints.get(0).getWord());
+        assertTrue(hints.get(0).isCandidate());
+    }
+
+    @Test
+    public void testCancelledRankingThrows() {
+        assertThrows(CancellationException.class, () -> engine.rank(new int[] {0, 1, 2}, 3, () -> true));
+    }
+}
@@ -0,0 +1,55 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+
+    @Test
+    public void testHistogramQuantilesWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(0.5005, snapshot.getMeanMillis(), 0.0001);
+        assertEquals(0.5, snapshot.getP50Millis(), 0.5 * 0.03);
+        assertEquals(0.9, snapshot.getP90Millis(), 0.9 * 0.03);
+        assertEquals(0.99, snapshot.getP99Millis(), 0.99 * 0.03);
+        assertEquals(1.0, snapshot.getMaxMillis(), 0.0001);
+    }
+
+    @Test
+    public void testBucketsCoverEveryLatency() {
+        assertEquals(0, LatencyHistogram.getBucket(0));
+        for (long nanos = 1; nanos > 0 && nanos < Long.MAX_VALUE / 3; nanos = nanos * 3 + 1) {
+            double middle = LatencyHistogram.getMiddle(LatencyHistogram.getBucket(nanos));
+            assertEquals(nanos, middle, nanos * 0.032 + 0.5);
+        }
+        assertTrue(LatencyHistogram.getBucket(Long.MAX_VALUE) >= 0);
+    }
+
+    @Test
+    public void testPublishedOverJmx() throws Exception {
+        Metrics metrics = Metrics.getDefault();
+        long won = metrics.getGamesWon();
+        metrics.recordGameFinished(true);
+        metrics.recordKeystroke();
+        metrics.recordRepaint();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+        assertEquals(won + 1, server.getAttribute(name, "GamesWon"));
+        CompositeData latency = (CompositeData) server.getAttribute(name, "KeystrokeToRepaintLatency");
+        assertTrue((Long) latency.get("count") >= 1);
+    }
+}
@@ -0,0 +1,97 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PackedDictionaryTest {
+
+    private final List<String> words = Arrays.asList("APPLE", "CAT", "GRAPE", "DOG", "PEACH", "BANANA");
+
+    private Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("dictionary");
+        file = directory.resolve("usa.dict");
+    }
+
+    @Test
+    public void testPackAndOpen() throws IOException {
+        PackedDictionary.write(file, words, 100, 42);
+        PackedDictionary dictionary = PackedDictionary.open(file, 100, 42);
+
+        assertNotNull(dictionary);
+        assertEquals(Arrays.asList("APPLE", "GRAPE", "PEACH"), dictionary.getWords(5));
+        assertEquals(Arrays.asList("CAT", "DOG"), dictionary.getWords(3));
+        assertEquals(1, dictionary.getWordCount(6));
+        assertEquals(0, dictionary.getWordCount(4));
+        assertTrue(dictionary.getWords(4).isEmpty());
+        assertEquals(Files.size(file), dictionary.getFileSize());
+    }
+
+    @Test
+    public void testLeavesNoTemporaryFiles() throws IOException {
+        PackedDictionary.write(file, words, 100, 42);
+        PackedDictionary.write(file, words, 100, 43);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testDeletesTemporaryFileWhenMoveFails() throws IOException {
+        Files.createDirectories(file.resolve("occupied"));
+
+        assertThrows(IOException.class, () -> PackedDictionary.write(file, words, 100, 42));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testRejectsMissingFile() throws IOException {
+        assertNull(PackedDictionary.open(file, 100, 42));
+    }
+
+    @Test
+    public void testRejectsStaleSource() throws IOException {
+        PackedDictionary.write(file, words, 100, 42);
+
+        assertNull(PackedDictionary.open(file, 101, 42));
+        assertNull(PackedDictionary.open(file, 100, 43));
+        assertNull(PackedDictionary.open(file, -1, 42));
+    }
+
+    @Test
+    public void testRejectsChecksumMismatch() throws IOException {
+        PackedDictionary.write(file, words, 100, 42);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write('X');
+        }
+
+        assertNull(PackedDictionary.open(file, 100, 42));
+    }
+
+    @Test
+    public void testReadTextSkipsBlankLines() throws IOException {
+        byte[] text = "apple\n\n  grape \r\npeach\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Arrays.asList("apple", "grape", "peach"),
+                PackedDictionary.readText(new ByteArrayInputStream(text)));
+    }
+}
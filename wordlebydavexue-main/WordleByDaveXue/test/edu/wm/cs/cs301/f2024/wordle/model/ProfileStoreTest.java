@@ -0,0 +1,95 @@
+package edu.wm.cs.cs301.f2024.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProfileStoreTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("profiles");
+    }
+
+    @Test
+    public void testRecordsAndReloadsProfiles() throws IOException {
+        try (ProfileStore store = ProfileStore.open(directory, 10)) {
+            assertEquals(0, store.load("ada").getTotalGamesPlayed());
+            store.recordGame("ada", 4, 3, true);
+            store.recordGame("ada", 5, 6, false);
+            store.recordGame("grace", 6, 2, true);
+            assertEquals(2, store.getProfileCount());
+        }
+
+        try (ProfileStore store = ProfileStore.open(directory, 1)) {
+            Statistics ada = store.load("ada");
+            assertEquals(2, ada.getTotalGamesPlayed());
+            assertEquals(1, ada.getGamesWon());
+            assertEquals(0, ada.getCurrentStreak());
+            assertEquals(1, ada.getLongestStreak());
+            assertEquals(1, ada.getWordsGuessedCount(2));
+            assertEquals(1, store.load("grace").getWordsGuessedCount(1));
+
+            List<GameRecord> history = store.getHistory("ada", 10);
+            assertEquals(2, history.size());
+            assertEquals(5, history.get(0).getAnswerIndex());
+            assertFalse(history.get(0).isWon());
+            assertEquals(4, history.get(1).getAnswerIndex());
+            assertEquals(1, store.getHistory("grace", 10).size());
+        }
+    }
+
+    @Test
+    public void testRejectsNewPlayersWhenFull() throws IOException {
+        try (ProfileStore store = ProfileStore.open(directory, 2)) {
+            store.recordGame("a", 0, 1, true);
+            store.recordGame("b", 0, 1, true);
+            store.recordGame("a", 0, 1, true);
+            assertThrows(IllegalStateException.class, () -> store.recordGame("c", 0, 1, true));
+            assertThrows(IllegalArgumentException.class, () -> store.load(""));
+        }
+    }
+
+    @Test
+    public void testExportsEveryProfile() throws IOException {
+        try (ProfileStore store = ProfileStore.open(directory, 100)) {
+            for (int player = 0; player < 50; player++) {
+                store.recordGame("player" + player, player, 1 + player % 6, true);
+            }
+            StringWriter out = new StringWriter();
+            store.export(out, 6);
+
+            String[] lines = out.toString().split("\n");
+            assertEquals(51, lines.length);
+            assertEquals("\"player7\",1,1,1,1,0;1;0;0;0;0", lines[8]);
+        }
+    }
+
+    @Test
+    public void testReleasesRecordLeftOddByCrash() throws IOException {
+        try (ProfileStore store = ProfileStore.open(directory, 4)) {
+            store.recordGame("alice", 0, 3, true);
+        }
+        // four profiles get an index of 8 positions, so the first record starts at byte 128
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("profiles.store").toFile(), "rw")) {
+            file.seek(128);
+            file.writeInt(3);
+        }
+
+        try (ProfileStore store = ProfileStore.open(directory, 4)) {
+            assertEquals(1, store.load("alice").getGamesWon());
+            store.recordGame("alice", 1, 2, true);
+            assertEquals(2, store.load("alice").getGamesWon());
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package edu.wm.cs.cs301.f2024.wordle.model;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -14,12 +23,19 @@ public class StatisticsTest {
 
     @Before
     public void setUp() {
+        for (String name : new String[] {"statistics.log", "statistics.journal", "statistics.summary"}) {
+            File file = new File(System.getProperty("user.home") + System.getProperty("file.separator") + "Wordle" + System.getProperty("file.separator") + name);
+            if (file.exists()) {
+                file.delete();
+            }
+        }
+
         statistics = new Statistics();
+    }
 
-        File file = new File(System.getProperty("user.home") + System.getProperty("file.separator") + "Wordle" + System.getProperty("file.separator") + "statistics.log");
-        if (file.exists()) {
-            file.delete();
-        }
+    @After
+    public void tearDown() {
+        statistics.flush(0, TimeUnit.MILLISECONDS);
     }
 
     @Test
@@ -89,11 +105,135 @@ public class StatisticsTest {
         statistics.addWordsGuessed(5);
         
         List<Integer> wordsGuessed = statistics.getWordsGuessed();
-        assertEquals(4, wordsGuessed.size());
-        assertEquals(3, (int) wordsGuessed.get(0));
+        assertEquals(2, wordsGuessed.size());
+        assertEquals(2, (int) wordsGuessed.get(0));
         assertEquals(5, (int) wordsGuessed.get(1));
     }
 
+    @Test
+    public void testWinPercentageAndDistribution() {
+        assertEquals(0, statistics.getWinPercentage());
+
+        statistics.recordGame(0, 3, true);
+        statistics.recordGame(1, 6, false);
+        statistics.recordGame(2, 3, true);
+        assertEquals(3, statistics.getTotalGamesPlayed());
+        assertEquals(2, statistics.getGamesWon());
+        assertEquals(1, statistics.getGamesLost());
+        assertEquals(67, statistics.getWinPercentage());
+        assertEquals(2, statistics.getWordsGuessedCount(2));
+        assertEquals(0, statistics.getWordsGuessedCount(5));
+        assertEquals(2, statistics.getLastWordsGuessed());
+        assertEquals(1, statistics.getCurrentStreak());
+        assertEquals(1, statistics.getLongestStreak());
+    }
+
+    @Test
+    public void testHistoryStreamsRecordedGames() {
+        statistics.recordGame(7, 2, true);
+        statistics.recordGame(8, 6, false);
+
+        try (Stream<GameRecord> history = statistics.getHistory()) {
+            List<GameRecord> games = history.collect(Collectors.toList());
+            assertEquals(2, games.size());
+            assertEquals(7, games.get(0).getAnswerIndex());
+            assertTrue(games.get(0).isWon());
+            assertEquals(6, games.get(1).getGuesses());
+            assertFalse(games.get(1).isWon());
+        }
+
+        Statistics newStatistics = new Statistics();
+        assertEquals(2, newStatistics.getTotalGamesPlayed());
+        assertEquals(1, newStatistics.getWordsGuessedCount(1));
+    }
+
+    @Test
+    public void testWindowsRollUpRecentGames() {
+        statistics.recordGame(0, 3, true, 40_000);
+        statistics.recordGame(1, 6, false, 300_000);
+        statistics.recordGame(2, 5, true, 100_000);
+        statistics.writeStatistics();
+
+        StatisticsWindow window = new Statistics().getWindow(7);
+        assertEquals(3, window.getGamesPlayed());
+        assertEquals(2, window.getGamesWon());
+        assertEquals(67, window.getWinPercentage());
+        assertEquals(4.0, window.getAverageGuesses(), 0.001);
+        assertEquals(40, window.getMedianSolveSeconds(), 4);
+        assertEquals(100, window.getP90SolveSeconds(), 10);
+        assertEquals(3, statistics.getWindow(365).getGamesPlayed());
+    }
+
+    @Test
+    public void testExportAndImportHistory() throws IOException {
+        statistics.recordGame(7, 2, true, 30_000);
+        statistics.recordGame(8, 6, false);
+        statistics.recordGame(9, 4, true);
+        statistics.addWordsGuessed(4);
+
+        for (HistoryFormat format : HistoryFormat.values()) {
+            StringWriter out = new StringWriter();
+            assertEquals(4, statistics.exportHistory(out, format));
+
+            Statistics imported = Statistics.inMemory();
+            assertEquals(4, imported.importHistory(new StringReader(out.toString()), format));
+            assertEquals(3, imported.getTotalGamesPlayed());
+            assertEquals(3, imported.getGamesWon());
+            assertEquals(1, imported.getWordsGuessedCount(1));
+            assertEquals(1, imported.getWordsGuessedCount(3));
+            assertEquals(1, imported.getWordsGuessedCount(4));
+            assertEquals(1, imported.getCurrentStreak());
+        }
+
+        Statistics older = Statistics.inMemory();
+        String csv = "timestamp,answer,guesses,won,solveSeconds\n0,-1,3,true,-1\n";
+        assertEquals(1, older.importHistory(new StringReader(csv), HistoryFormat.CSV));
+        assertEquals(1, older.getTotalGamesPlayed());
+
+        StringWriter out = new StringWriter();
+        statistics.exportHistory(out, HistoryFormat.CSV);
+        statistics.importHistory(new StringReader(out.toString()), HistoryFormat.CSV);
+        assertEquals(6, statistics.getTotalGamesPlayed());
+
+        Statistics newStatistics = new Statistics();
+        assertEquals(6, newStatistics.getTotalGamesPlayed());
+        assertEquals(6, newStatistics.getGamesWon());
+        try (Stream<GameRecord> history = newStatistics.getHistory()) {
+            assertEquals(30, history.skip(4).findFirst().get().getSolveSeconds());
+        }
+    }
+
+    @Test
+    public void testMigrateStatisticsLog() throws IOException {
+        File wordle = new File(System.getProperty("user.home"), "Wordle");
+        new File(wordle, "statistics.summary").delete();
+        new File(wordle, "statistics.journal").delete();
+        Files.write(new File(wordle, "statistics.log").toPath(), Arrays.asList("2", "4", "5", "3", "1", "3", "3"));
+
+        Statistics migrated = new Statistics();
+        assertEquals(2, migrated.getCurrentStreak());
+        assertEquals(4, migrated.getLongestStreak());
+        assertEquals(5, migrated.getTotalGamesPlayed());
+        assertEquals(Arrays.asList(1, 3, 3), migrated.getWordsGuessed());
+        assertFalse(new File(wordle, "statistics.log").exists());
+        assertTrue(new File(wordle, "statistics.log.bak").delete());
+    }
+
+    @Test
+    public void testMigrateAgainAfterCrash() throws IOException {
+        File wordle = new File(System.getProperty("user.home"), "Wordle");
+        Files.write(new File(wordle, "statistics.log").toPath(), Arrays.asList("2", "4", "5", "3", "1", "3", "3"));
+        // a migration that crashed before its summary left two of the games in the journal
+        new StatisticsJournal(new File(wordle, "statistics.journal").toPath()).append(Arrays.asList(
+                new GameRecord(0, -1, 2, GameRecord.WON | GameRecord.HISTORY),
+                new GameRecord(0, -1, 4, GameRecord.WON | GameRecord.HISTORY)));
+
+        Statistics migrated = new Statistics();
+        assertEquals(3, migrated.getGamesWon());
+        assertEquals(Arrays.asList(1, 3, 3), migrated.getWordsGuessed());
+        assertTrue(new File(wordle, "statistics.log.bak").delete());
+    }
+
     @Test
     public void testWriteAndReadStatistics() {
         statistics.setCurrentStreak(5);
@@ -114,5 +254,20 @@ public class StatisticsTest {
         assertEquals(3, (int) wordsGuessed.get(0));
         assertEquals(5, (int) wordsGuessed.get(1));
     }
-}
 
+    @Test
+    public void testReplaysWordsGuessedAfterSummary() {
+        statistics.recordGame(1, 2, true);
+        statistics.writeStatistics();
+        statistics.addWordsGuessed(4);
+        statistics.recordGame(2, 3, true);
+        statistics.flush(0, TimeUnit.MILLISECONDS);
+
+        Statistics newStatistics = new Statistics();
+        assertEquals(3, newStatistics.getGamesWon());
+        assertEquals(2, newStatistics.getTotalGamesPlayed());
+        assertEquals(1, newStatistics.getWordsGuessedCount(4));
+        assertEquals(1, newStatistics.getWordsGuessedCount(2));
+        assertEquals(2, newStatistics.getLastWordsGuessed());
+    }
+}
@@ -3,6 +3,8 @@ package edu.wm.cs.cs301.f2024.wordle.model;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,15 @@ public class WordleModelTest {
         assertEquals(4, wordleModel.getTotalWordCount());
     }
     
+    @Test
+    public void testWordListLoadedCompletesStage() throws Exception {
+        wordleModel.setWordList(Arrays.asList("apple", "grape"));
+        assertTrue(wordleModel.isWordListLoaded());
+        List<String> wordList = wordleModel.whenWordListLoaded().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertNotNull(wordList);
+        assertTrue(wordleModel.getTotalWordCount() > 0);
+    }
+    
     @Test
     public void testGetMaximumRows() {
         assertEquals(6, wordleModel.getMaximumRows());
@@ -94,7 +105,7 @@ public class WordleModelTest {
         wordleModel.setCurrentRow();
         WordleResponse[] currentRow = wordleModel.getCurrentRow();
         for (WordleResponse response : currentRow) {
-            assertEquals(AppColors.GREEN, response.getBackgroundColor());
+            assertEquals(TileState.CORRECT, response.getState());
         }
     }
 
@@ -112,11 +123,11 @@ public class WordleModelTest {
         wordleModel.setCurrentRow();
         WordleResponse[] currentRow = wordleModel.getCurrentRow();
 
-        assertEquals(AppColors.GREEN, currentRow[0].getBackgroundColor());
-        assertEquals(AppColors.GREEN, currentRow[1].getBackgroundColor());
-        assertEquals(AppColors.GREEN, currentRow[2].getBackgroundColor());
-        assertEquals(AppColors.GREEN, currentRow[3].getBackgroundColor());
-        assertEquals(AppColors.GRAY, currentRow[4].getBackgroundColor());
+        assertEquals(TileState.CORRECT, currentRow[0].getState());
+        assertEquals(TileState.CORRECT, currentRow[1].getState());
+        assertEquals(TileState.CORRECT, currentRow[2].getState());
+        assertEquals(TileState.CORRECT, currentRow[3].getState());
+        assertEquals(TileState.ABSENT, currentRow[4].getState());
     }
 
     @Test
@@ -147,6 +158,28 @@ public class WordleModelTest {
         }
     }
 
+    @Test
+    public void testDirtyCellsTrackChangedCells() {
+        WordleModel model = new WordleModel(Arrays.asList("apple"), Statistics.inMemory());
+        model.clearDirtyCells();
+        assertEquals(-1, model.nextDirtyCell(0));
+
+        model.setCurrentColumn('a');
+        model.setCurrentColumn('p');
+        assertEquals(0, model.nextDirtyCell(0));
+        assertEquals(1, model.nextDirtyCell(1));
+        assertEquals(-1, model.nextDirtyCell(2));
+
+        model.clearDirtyCells();
+        model.backspace();
+        assertEquals(1, model.nextDirtyCell(0));
+        assertEquals(-1, model.nextDirtyCell(2));
+
+        model.initialize();
+        assertEquals(model.getMaximumRows() * model.getColumnCount() - 1,
+                model.nextDirtyCell(model.getMaximumRows() * model.getColumnCount() - 1));
+    }
+
     @Test
     public void testGetStatistics() {
         assertNotNull(wordleModel.getStatistics());